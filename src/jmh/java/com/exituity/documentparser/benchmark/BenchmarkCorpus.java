@@ -0,0 +1,179 @@
+package com.exituity.documentparser.benchmark;
+
+import com.exituity.documentparser.upload.SpooledFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * BenchmarkCorpus — generates synthetic documents of a given size for the parser benchmarks,
+ * so runs are reproducible without checking large sample files into the repo.
+ */
+final class BenchmarkCorpus {
+
+    static final String SENTENCE = "Invoice 1003 for 42 units of product SKU-7781 shipped to Berlin on 2024-03-15.";
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Spools generated content the same way DocumentService spools uploads.
+     */
+    static SpooledFile spool(byte[] content, String filename, String contentType) throws IOException {
+        return SpooledFile.spool("file", filename, contentType, new ByteArrayInputStream(content));
+    }
+
+    static byte[] pdf(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int p = 1; p <= pages; p++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 9);
+                    content.setLeading(12);
+                    content.newLineAtOffset(40, 800);
+                    for (int line = 1; line <= 60; line++) {
+                        content.showText("Page " + p + " line " + line + ": " + SENTENCE);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    static byte[] xlsx(int rows) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try {
+            Sheet sheet = workbook.createSheet("Sales");
+            Row header = sheet.createRow(0);
+            String[] columns = {"Id", "Region", "Product", "Units", "Price", "Total", "Shipped"};
+            for (int c = 0; c < columns.length; c++) {
+                header.createCell(c).setCellValue(columns[c]);
+            }
+
+            for (int r = 1; r <= rows; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue(r);
+                row.createCell(1).setCellValue("Region " + (r % 12));
+                row.createCell(2).setCellValue("SKU-" + (r % 500));
+                row.createCell(3).setCellValue(r % 97);
+                row.createCell(4).setCellValue(19.99 + r % 10);
+                row.createCell(5).setCellValue((r % 97) * (19.99 + r % 10));
+                row.createCell(6).setCellValue(r % 3 == 0);
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return out.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    static byte[] docx(int paragraphs) throws IOException {
+        try (XWPFDocument document = new XWPFDocument()) {
+            for (int i = 1; i <= paragraphs; i++) {
+                document.createParagraph().createRun().setText("Paragraph " + i + ". " + SENTENCE);
+
+                // A small table every 50 paragraphs
+                if (i % 50 == 0) {
+                    XWPFTable table = document.createTable(5, 4);
+                    for (int r = 0; r < 5; r++) {
+                        XWPFTableRow row = table.getRow(r);
+                        for (int c = 0; c < 4; c++) {
+                            row.getCell(c).setText(r == 0 ? "Column " + c : "R" + r + "C" + c);
+                        }
+                    }
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    static byte[] pptx(int slides) throws IOException {
+        try (XMLSlideShow show = new XMLSlideShow()) {
+            for (int s = 1; s <= slides; s++) {
+                XSLFSlide slide = show.createSlide();
+                XSLFTextBox box = slide.createTextBox();
+                box.setAnchor(new Rectangle(40, 40, 600, 400));
+                box.setText("Slide " + s);
+                for (int line = 1; line <= 8; line++) {
+                    box.addNewTextParagraph().addNewTextRun().setText(SENTENCE);
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            show.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    static byte[] csv(int lines) {
+        StringBuilder csv = new StringBuilder("id,region,product,units,price\n");
+        for (int i = 1; i <= lines; i++) {
+            csv.append(i).append(",Region ").append(i % 12).append(",SKU-").append(i % 500)
+                    .append(',').append(i % 97).append(',').append(19.99 + i % 10).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * RTF has no specialised parser here, so it exercises the Tika fallback.
+     */
+    static byte[] rtf(int paragraphs) {
+        StringBuilder rtf = new StringBuilder("{\\rtf1\\ansi\\deff0{\\fonttbl{\\f0 Helvetica;}}\\f0\\fs20 ");
+        for (int i = 1; i <= paragraphs; i++) {
+            rtf.append("Paragraph ").append(i).append(". ").append(SENTENCE).append("\\par ");
+        }
+        return rtf.append('}').toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static byte[] png(int lines) throws IOException {
+        BufferedImage image = new BufferedImage(1240, 40 + lines * 36, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.setColor(Color.BLACK);
+            g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 22));
+            for (int i = 0; i < lines; i++) {
+                g.drawString(SENTENCE, 20, 40 + i * 36);
+            }
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+package com.exituity.documentparser.benchmark;
+
+import com.exituity.documentparser.parser.ExcelParser;
+import com.exituity.documentparser.upload.SpooledFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelParserBenchmark — .xlsx workbooks of increasing row count through the DOM and SAX paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelParserBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    @Param({"dom", "streaming"})
+    public String mode;
+
+    private ExcelParser parser;
+    private SpooledFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // The streaming threshold picks the path: 0 always streams, Long.MAX_VALUE never does
+        DataSize threshold = DataSize.ofBytes("streaming".equals(mode) ? 0 : Long.MAX_VALUE);
+        parser = new ExcelParser(threshold);
+        file = BenchmarkCorpus.spool(BenchmarkCorpus.xlsx(rows), "corpus.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return parser.parse(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.close();
+    }
+}
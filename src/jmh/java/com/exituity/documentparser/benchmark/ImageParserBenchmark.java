@@ -0,0 +1,61 @@
+package com.exituity.documentparser.benchmark;
+
+import com.exituity.documentparser.metrics.ParseMetrics;
+import com.exituity.documentparser.ocr.OcrEnginePool;
+import com.exituity.documentparser.parser.ImageParser;
+import com.exituity.documentparser.upload.SpooledFile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ImageParserBenchmark — OCR of rendered text images of increasing line count.
+ * Needs Tesseract and its traineddata installed, like the service itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ImageParserBenchmark {
+
+    @Param({"5", "40"})
+    public int lines;
+
+    private OcrEnginePool engines;
+    private ImageParser parser;
+    private SpooledFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        engines = new OcrEnginePool(1, Duration.ofSeconds(30), true, new SimpleMeterRegistry());
+        engines.warmUp();
+        parser = new ImageParser(engines, new ParseMetrics(new SimpleMeterRegistry()));
+        file = BenchmarkCorpus.spool(BenchmarkCorpus.png(lines), "corpus.png", "image/png");
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return parser.parse(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.close();
+    }
+}
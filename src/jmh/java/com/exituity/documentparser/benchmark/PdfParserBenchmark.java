@@ -0,0 +1,76 @@
+package com.exituity.documentparser.benchmark;
+
+import com.exituity.documentparser.metrics.ParseMetrics;
+import com.exituity.documentparser.model.ParseOptions;
+import com.exituity.documentparser.ocr.OcrEnginePool;
+import com.exituity.documentparser.ocr.OcrWorkerPool;
+import com.exituity.documentparser.parser.PdfParser;
+import com.exituity.documentparser.parser.PdfTableExtractor;
+import com.exituity.documentparser.upload.SpooledFile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PdfParserBenchmark — text-layer PDFs of increasing page count, with and without table detection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfParserBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int pages;
+
+    @Param({"true", "false"})
+    public boolean tables;
+
+    private OcrWorkerPool ocrWorkers;
+    private PdfTableExtractor tableExtractor;
+    private PdfParser parser;
+    private ParseOptions options;
+    private SpooledFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // The corpus has a text layer on every page, so OCR engines are created but never used
+        ParseMetrics metrics = new ParseMetrics(new SimpleMeterRegistry());
+        OcrEnginePool engines = new OcrEnginePool(1, Duration.ofSeconds(30), false, new SimpleMeterRegistry());
+        ocrWorkers = new OcrWorkerPool(engines, metrics, 1, 1);
+        tableExtractor = new PdfTableExtractor(0, 4);
+        parser = new PdfParser(ocrWorkers, tableExtractor, metrics);
+
+        options = ParseOptions.defaults();
+        options.setExtractTables(tables);
+        file = BenchmarkCorpus.spool(BenchmarkCorpus.pdf(pages), "corpus.pdf", "application/pdf");
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return parser.parse(file, options);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.close();
+        tableExtractor.shutdown();
+        ocrWorkers.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package com.exituity.documentparser.benchmark;
+
+import com.exituity.documentparser.parser.PowerPointParser;
+import com.exituity.documentparser.upload.SpooledFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PowerPointParserBenchmark — .pptx decks of increasing slide count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PowerPointParserBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int slides;
+
+    private PowerPointParser parser;
+    private SpooledFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        parser = new PowerPointParser();
+        file = BenchmarkCorpus.spool(BenchmarkCorpus.pptx(slides), "corpus.pptx",
+                "application/vnd.openxmlformats-officedocument.presentationml.presentation");
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return parser.parse(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.close();
+    }
+}
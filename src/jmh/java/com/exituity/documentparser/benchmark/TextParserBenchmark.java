@@ -0,0 +1,54 @@
+package com.exituity.documentparser.benchmark;
+
+import com.exituity.documentparser.parser.TextParser;
+import com.exituity.documentparser.upload.SpooledFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TextParserBenchmark — CSV files of increasing line count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextParserBenchmark {
+
+    @Param({"1000", "100000"})
+    public int lines;
+
+    private TextParser parser;
+    private SpooledFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        parser = new TextParser(DataSize.ofKilobytes(64), 10_000_000, true, 100_000, 1_000_000);
+        file = BenchmarkCorpus.spool(BenchmarkCorpus.csv(lines), "corpus.csv", "text/csv");
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return parser.parse(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.exituity.documentparser.benchmark;
+
+import com.exituity.documentparser.parser.TikaParser;
+import com.exituity.documentparser.parser.TikaRuntime;
+import com.exituity.documentparser.upload.SpooledFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TikaParserBenchmark — RTF documents (no specialised parser) through the Tika fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TikaParserBenchmark {
+
+    @Param({"50", "1000", "10000"})
+    public int paragraphs;
+
+    private TikaParser parser;
+    private SpooledFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        parser = new TikaParser(new TikaRuntime("", false, 10_000_000, 65_536, -1));
+        file = BenchmarkCorpus.spool(BenchmarkCorpus.rtf(paragraphs), "corpus.rtf", "application/rtf");
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return parser.parse(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.close();
+    }
+}
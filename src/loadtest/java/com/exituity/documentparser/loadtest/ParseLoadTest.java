@@ -0,0 +1,265 @@
+package com.exituity.documentparser.loadtest;
+
+import com.exituity.documentparser.DocumentParserServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * ParseLoadTest — end-to-end load generator for POST /api/v1/parse.
+ *
+ * Starts the service on a random port, replays the sample documents round-robin at a fixed
+ * concurrency, and records latency (HdrHistogram), throughput and error rate per document type.
+ * The report is printed and written as JSON; each type also carries its compressed histogram,
+ * so two reports can be compared percentile by percentile.
+ *
+ * Configured with system properties (see the loadtest Maven profile):
+ * loadtest.concurrency, loadtest.requests, loadtest.warmup, loadtest.inputs, loadtest.report,
+ * loadtest.cache (the result cache is off by default, since the same files are replayed).
+ */
+public final class ParseLoadTest {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private ParseLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 8);
+        int requests = Integer.getInteger("loadtest.requests", 500);
+        int warmup = Integer.getInteger("loadtest.warmup", 50);
+        Path inputs = Path.of(System.getProperty("loadtest.inputs", "examples/inputs"));
+        Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        boolean cache = Boolean.parseBoolean(System.getProperty("loadtest.cache", "false"));
+
+        List<Sample> samples = loadSamples(inputs);
+        if (samples.isEmpty()) {
+            throw new IllegalStateException("No input documents found in " + inputs.toAbsolutePath());
+        }
+
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(DocumentParserServiceApplication.class)
+                .properties("server.port=0", "parser.cache.enabled=" + cache)
+                .run(args);
+
+        try {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            URI endpoint = URI.create("http://localhost:" + port + "/api/v1/parse");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(Executors.newFixedThreadPool(concurrency, ParseLoadTest::daemon))
+                    .build();
+
+            System.out.println("🔥 Warm-up: " + warmup + " requests");
+            run(client, endpoint, samples, warmup, concurrency, new LinkedHashMap<>());
+
+            Map<String, TypeStats> stats = new LinkedHashMap<>();
+            samples.forEach(sample -> stats.putIfAbsent(sample.type(), new TypeStats()));
+
+            System.out.println("🚀 Load test: " + requests + " requests at concurrency " + concurrency);
+            long started = System.nanoTime();
+            run(client, endpoint, samples, requests, concurrency, stats);
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+            Map<String, Object> result = report(stats, elapsedSeconds, concurrency, requests, cache);
+            print(stats, elapsedSeconds);
+
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), result);
+            System.out.println("📄 Report written to " + report.toAbsolutePath());
+        } finally {
+            app.close();
+        }
+    }
+
+    private static void run(HttpClient client, URI endpoint, List<Sample> samples, int requests,
+                            int concurrency, Map<String, TypeStats> stats) throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        ExecutorService users = Executors.newFixedThreadPool(concurrency, ParseLoadTest::daemon);
+
+        for (int u = 0; u < concurrency; u++) {
+            users.execute(() -> {
+                long i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    Sample sample = samples.get((int) (i % samples.size()));
+                    TypeStats typeStats = stats.get(sample.type());
+
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> response = client.send(sample.request(endpoint),
+                                HttpResponse.BodyHandlers.discarding());
+                        ok = response.statusCode() == 200;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long micros = (System.nanoTime() - start) / 1_000;
+
+                    if (typeStats != null) typeStats.record(micros, ok);
+                }
+            });
+        }
+
+        users.shutdown();
+        users.awaitTermination(1, TimeUnit.DAYS);
+    }
+
+    private static List<Sample> loadSamples(Path inputs) throws IOException {
+        List<Sample> samples = new ArrayList<>();
+        try (Stream<Path> files = Files.list(inputs)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                samples.add(Sample.of(file));
+            }
+        }
+        return samples;
+    }
+
+    private static Map<String, Object> report(Map<String, TypeStats> stats, double elapsedSeconds,
+                                              int concurrency, int requests, boolean cache) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("concurrency", concurrency);
+        result.put("requests", requests);
+        result.put("cacheEnabled", cache);
+        result.put("elapsedSeconds", elapsedSeconds);
+
+        Map<String, Object> types = new LinkedHashMap<>();
+        stats.forEach((type, s) -> types.put(type, s.toReport(elapsedSeconds)));
+        result.put("types", types);
+        return result;
+    }
+
+    private static void print(Map<String, TypeStats> stats, double elapsedSeconds) {
+        System.out.printf("%n%-8s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+                "type", "count", "err %", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        stats.forEach((type, s) -> {
+            Histogram h = s.latency;
+            System.out.printf("%-8s %8d %8.2f %9.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    type, s.count(), s.errorRate() * 100, s.count() / elapsedSeconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()));
+        });
+        System.out.println();
+    }
+
+    // Daemon threads, so the JVM exits once the report is written
+    private static Thread daemon(Runnable runnable) {
+        Thread thread = new Thread(runnable, "loadtest");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    /**
+     * One input document with its multipart request body prepared up front.
+     */
+    private record Sample(String type, String boundary, byte[] body) {
+
+        static Sample of(Path file) throws IOException {
+            String name = file.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            String type = dot >= 0 ? name.substring(dot + 1).toLowerCase() : "unknown";
+            String contentType = Files.probeContentType(file);
+            String boundary = "loadtest-" + UUID.randomUUID();
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            body.write(("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"" + name + "\"\r\n"
+                    + "Content-Type: " + (contentType != null ? contentType : "application/octet-stream") + "\r\n\r\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            body.write(Files.readAllBytes(file));
+            body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+            return new Sample(type, boundary, body.toByteArray());
+        }
+
+        HttpRequest request(URI endpoint) {
+            return HttpRequest.newBuilder(endpoint)
+                    .timeout(Duration.ofMinutes(5))
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+        }
+    }
+
+    /**
+     * Latency and outcome counts for one document type; safe to record from many threads.
+     */
+    private static final class TypeStats {
+
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        void record(long micros, boolean success) {
+            latency.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            (success ? ok : errors).increment();
+        }
+
+        long count() {
+            return ok.sum() + errors.sum();
+        }
+
+        double errorRate() {
+            long count = count();
+            return count == 0 ? 0 : (double) errors.sum() / count;
+        }
+
+        Map<String, Object> toReport(double elapsedSeconds) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", count());
+            report.put("errors", errors.sum());
+            report.put("errorRate", errorRate());
+            report.put("throughputPerSecond", count() / elapsedSeconds);
+
+            Map<String, Object> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", millis(latency.getValueAtPercentile(50)));
+            percentiles.put("p90", millis(latency.getValueAtPercentile(90)));
+            percentiles.put("p95", millis(latency.getValueAtPercentile(95)));
+            percentiles.put("p99", millis(latency.getValueAtPercentile(99)));
+            percentiles.put("p99.9", millis(latency.getValueAtPercentile(99.9)));
+            percentiles.put("max", millis(latency.getMaxValue()));
+            percentiles.put("mean", latency.getMean() / 1_000.0);
+            report.put("latencyMs", percentiles);
+
+            // Full histogram, decodable with Histogram.decodeFromCompressedByteBuffer for comparisons
+            ByteBuffer buffer = ByteBuffer.allocate(latency.getNeededByteBufferCapacity());
+            int length = latency.encodeIntoCompressedByteBuffer(buffer);
+            report.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+            return report;
+        }
+    }
+}
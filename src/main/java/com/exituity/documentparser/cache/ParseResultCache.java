@@ -0,0 +1,332 @@
+package com.exituity.documentparser.cache;
+
+import com.exituity.documentparser.model.Metadata;
+import com.exituity.documentparser.model.ParseOptions;
+import com.exituity.documentparser.model.ParsedDocument;
+import com.exituity.documentparser.model.PdfParsedData;
+import com.exituity.documentparser.model.Table;
+import com.exituity.documentparser.parser.Parser;
+import com.exituity.documentparser.upload.SpooledFile;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * ParseResultCache — caches parse results by upload content, so repeated uploads
+ * of the same file skip the parsers (and OCR) entirely.
+ *
+ * Keys are a SHA-256 over the upload, the parser class and version, and the request options.
+ * The in-memory tier is a Caffeine (W-TinyLFU) cache weighed by serialized result size; the
+ * optional disk tier stores results as JSON files and survives restarts. A scheduled sweep keeps
+ * the disk tier within its TTL and size cap, dropping the least recently used files first
+ * (a disk hit refreshes the file's modification time).
+ */
+@Component
+public class ParseResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ParseResultCache.class);
+
+    private static final String TYPE_FIELD = "type";
+    private static final String VALUE_FIELD = "value";
+
+    private final boolean enabled;
+    private final Path diskDirectory;
+    private final long diskMaxSize;
+    private final Duration diskTtl;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResult> memory;
+    private final Counter diskHits;
+    private final Counter diskMisses;
+
+    public ParseResultCache(@Value("${parser.cache.enabled:true}") boolean enabled,
+                            @Value("${parser.cache.max-size:256MB}") DataSize maxSize,
+                            @Value("${parser.cache.disk.enabled:false}") boolean diskEnabled,
+                            @Value("${parser.cache.disk.directory:${java.io.tmpdir}/document-parser-cache}") Path diskDirectory,
+                            @Value("${parser.cache.disk.max-size:1GB}") DataSize diskMaxSize,
+                            @Value("${parser.cache.disk.ttl:7d}") Duration diskTtl,
+                            ObjectMapper objectMapper,
+                            MeterRegistry registry) throws Exception {
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+        this.diskDirectory = diskEnabled ? Files.createDirectories(diskDirectory) : null;
+        this.diskMaxSize = diskMaxSize.toBytes();
+        this.diskTtl = diskTtl;
+
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResult entry) -> entry.weight())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, memory, "parse.results");
+        this.diskHits = Counter.builder("parse.results.disk").tag("result", "hit").register(registry);
+        this.diskMisses = Counter.builder("parse.results.disk").tag("result", "miss").register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Builds the cache key for an upload, the parser selected for it and the request options.
+     */
+    public String key(MultipartFile file, Parser parser, ParseOptions options) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        if (file instanceof SpooledFile spooled && spooled.getSize() <= Integer.MAX_VALUE) {
+            digest.update(spooled.map());
+        } else {
+            try (InputStream is = file.getInputStream()) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        String descriptor = parser.getClass().getName() + "|" + parser.version() + "|" + options;
+        digest.update(descriptor.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Returns the cached result for this key re-labelled with the current upload's file name,
+     * or null on a miss.
+     */
+    public Object get(String key, MultipartFile file) {
+        CachedResult entry = memory.getIfPresent(key);
+
+        if (entry == null && diskDirectory != null) {
+            entry = readFromDisk(key);
+            if (entry != null) {
+                diskHits.increment();
+                memory.put(key, entry);
+            } else {
+                diskMisses.increment();
+            }
+        }
+
+        return entry != null ? forUpload(entry.value(), file) : null;
+    }
+
+    public void put(String key, Object result) {
+        try {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put(TYPE_FIELD, result instanceof PdfParsedData ? "pdf" : "document");
+            node.set(VALUE_FIELD, objectMapper.valueToTree(result));
+            byte[] json = objectMapper.writeValueAsBytes(node);
+
+            memory.put(key, new CachedResult(copy(result), json.length));
+
+            if (diskDirectory != null) {
+                Path target = diskDirectory.resolve(key + ".json");
+                Path temp = Files.createTempFile(diskDirectory, key, ".tmp");
+                Files.write(temp, json);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (Exception e) {
+            log.warn("Could not cache parse result: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes disk entries past the TTL, then the least recently used ones until the tier fits
+     * max-size again; leftover temp files from interrupted writes go too.
+     */
+    @Scheduled(fixedDelayString = "${parser.cache.disk.cleanup-interval-ms:300000}")
+    public void evictDiskEntries() {
+        if (diskDirectory == null) return;
+
+        Instant expired = Instant.now().minus(diskTtl);
+        List<DiskEntry> entries = new ArrayList<>();
+        long total = 0;
+
+        try (Stream<Path> files = Files.list(diskDirectory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (!attributes.isRegularFile()) continue;
+
+                    if (attributes.lastModifiedTime().toInstant().isBefore(expired)) {
+                        Files.deleteIfExists(path);
+                    } else if (path.getFileName().toString().endsWith(".json")) {
+                        entries.add(new DiskEntry(path, attributes.lastModifiedTime(), attributes.size()));
+                        total += attributes.size();
+                    }
+                } catch (IOException e) {
+                    // replaced or removed while we looked; the next sweep sees its current state
+                }
+            }
+
+            entries.sort(Comparator.comparing(DiskEntry::lastUsed));
+            for (DiskEntry entry : entries) {
+                if (total <= diskMaxSize) break;
+                Files.deleteIfExists(entry.path());
+                total -= entry.size();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not clean up the parse result disk cache: {}", e.getMessage());
+        }
+    }
+
+    private CachedResult readFromDisk(String key) {
+        Path path = diskDirectory.resolve(key + ".json");
+        if (!Files.exists(path)) return null;
+
+        try {
+            byte[] json = Files.readAllBytes(path);
+            touch(path);
+            JsonNode node = objectMapper.readTree(json);
+            Class<?> type = "pdf".equals(node.path(TYPE_FIELD).asText()) ? PdfParsedData.class : ParsedDocument.class;
+            return new CachedResult(objectMapper.treeToValue(node.get(VALUE_FIELD), type), json.length);
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable cache entry {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    // marks the entry as recently used for the LRU sweep
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // evicted meanwhile; the entry just read is still valid
+        }
+    }
+
+    /**
+     * Cached results are shared across requests, so each hit gets its own deep copy (tables,
+     * pages, issues and text maps included) carrying this upload's file name; callers may
+     * mutate what they get without touching the cache.
+     */
+    private Object forUpload(Object cached, MultipartFile file) {
+        if (cached instanceof PdfParsedData pdf) {
+            return copy(pdf, relabel(pdf.getMetadata(), file));
+        }
+        ParsedDocument doc = (ParsedDocument) cached;
+        return copy(doc, relabel(doc.getMetadata(), file));
+    }
+
+    /**
+     * Deep copy of a result, stored by put so the caller that parsed the file cannot change
+     * the cached entry through the result it returns.
+     */
+    private static Object copy(Object result) {
+        if (result instanceof PdfParsedData pdf) return copy(pdf, copy(pdf.getMetadata()));
+        ParsedDocument doc = (ParsedDocument) result;
+        return copy(doc, copy(doc.getMetadata()));
+    }
+
+    private static PdfParsedData copy(PdfParsedData pdf, Metadata metadata) {
+        PdfParsedData.PdfText text = null;
+        if (pdf.getText() != null) {
+            List<PdfParsedData.Page> pages = null;
+            if (pdf.getText().getPages() != null) {
+                pages = new ArrayList<>();
+                for (PdfParsedData.Page page : pdf.getText().getPages()) {
+                    pages.add(new PdfParsedData.Page(page.getPageNumber(), page.getText(),
+                            copyTables(page.getTables()), page.getSource()));
+                }
+            }
+            text = new PdfParsedData.PdfText(pages);
+        }
+        return new PdfParsedData(text, copyTables(pdf.getTables()), metadata,
+                copyList(pdf.getExtractedImages()), copyList(pdf.getIssues()));
+    }
+
+    private static ParsedDocument copy(ParsedDocument doc, Metadata metadata) {
+        return new ParsedDocument(copyValue(doc.getText()), copyTables(doc.getTables()), metadata,
+                copyList(doc.getExtractedImages()), copyList(doc.getIssues()));
+    }
+
+    private static List<Table> copyTables(List<Table> tables) {
+        if (tables == null) return null;
+        List<Table> copy = new ArrayList<>(tables.size());
+        for (Table table : tables) {
+            copy.add(new Table(table.getTableName(), copyList(table.getHeaders()), copyList(table.getRows()),
+                    copyList(table.getStructuredRows()), table.getConfidenceScore()));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> copyList(List<T> list) {
+        return (List<T>) copyValue(list);
+    }
+
+    /**
+     * Copies nested lists and maps; leaves are Strings, numbers, booleans and java.time values,
+     * which are immutable.
+     */
+    private static Object copyValue(Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list) {
+                copy.add(copyValue(element));
+            }
+            return copy;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(k, copyValue(v)));
+            return copy;
+        }
+        return value;
+    }
+
+    private static Metadata copy(Metadata metadata) {
+        if (metadata == null) return null;
+        return new Metadata(metadata.getFileName(), metadata.getFileType(), metadata.getFileSize(),
+                metadata.getPageCount(), metadata.getExtractionConfidence(), metadata.getExtractedBy(),
+                metadata.getParseDate());
+    }
+
+    private Metadata relabel(Metadata metadata, MultipartFile file) {
+        if (metadata == null) return null;
+        return new Metadata(
+                file.getOriginalFilename(),
+                metadata.getFileType(),
+                metadata.getFileSize(),
+                metadata.getPageCount(),
+                metadata.getExtractionConfidence(),
+                metadata.getExtractedBy(),
+                metadata.getParseDate()
+        );
+    }
+
+    private record CachedResult(Object value, int weight) {
+    }
+
+    private record DiskEntry(Path path, FileTime lastUsed, long size) {
+    }
+}
@@ -1,13 +1,31 @@
 package com.exituity.documentparser.controller;
 
+import com.exituity.documentparser.metrics.ParseMetrics;
+import com.exituity.documentparser.model.CancellationToken;
+import com.exituity.documentparser.model.PageRange;
+import com.exituity.documentparser.model.ParseOptions;
+import com.exituity.documentparser.service.BatchParseService;
 import com.exituity.documentparser.service.DocumentService; 
+import com.exituity.documentparser.service.NdjsonSink;
+import com.exituity.documentparser.upload.SpooledFile;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/v1/parse")
@@ -15,17 +33,148 @@ import org.springframework.web.multipart.MultipartFile;
 public class DocumentController {
 
     private final DocumentService service;
+    private final BatchParseService batchService;
+    private final ObjectMapper objectMapper;
+    private final ParseMetrics metrics;
 
-    public DocumentController(DocumentService service) {
+    public DocumentController(DocumentService service, BatchParseService batchService, ObjectMapper objectMapper,
+                              ParseMetrics metrics) {
         this.service = service;
+        this.batchService = batchService;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
     }
 
     @PostMapping(
         consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
         produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<Object> parse(@RequestPart("file") @NotNull MultipartFile file) throws Exception {
-        Object parsed = service.parseDocument(file);
-        return ResponseEntity.ok(parsed);
+    public ResponseEntity<byte[]> parse(@RequestPart("file") @NotNull MultipartFile file,
+                                        @RequestParam(value = "pages", required = false) String pages,
+                                        @RequestParam(value = "tables", defaultValue = "true") boolean tables,
+                                        @RequestParam(value = "sheets", required = false) String sheets,
+                                        @RequestParam(value = "columns", required = false) String columns,
+                                        @RequestParam(value = "rowOffset", defaultValue = "0") int rowOffset,
+                                        @RequestParam(value = "rowLimit", required = false) Integer rowLimit,
+                                        @RequestParam(value = "headerOnly", defaultValue = "false") boolean headerOnly) throws Exception {
+        Object parsed = service.parseDocument(file, options(pages, tables, sheets, columns, rowOffset, rowLimit, headerOnly));
+
+        // Serialized here rather than by the message converter, so the time shows up as its own stage
+        byte[] json = metrics.time(ParseMetrics.STAGE_SERIALIZE, ParseMetrics.NONE, ParseMetrics.NONE,
+                () -> objectMapper.writeValueAsBytes(parsed));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
+    }
+
+    /**
+     * Parses many files (or .zip archives of files) in one call.
+     * Streams one NDJSON line per file as it finishes; per-file errors are reported inline.
+     */
+    @PostMapping(
+        value = "/batch",
+        consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> parseBatch(@RequestPart("files") @NotNull List<MultipartFile> files,
+                                                            HttpServletRequest request) throws Exception {
+        List<SpooledFile> spooled = batchService.spool(files);
+        CancellationToken cancellation = cancelOnAsyncEnd(request);
+        StreamingResponseBody body = out -> batchService.parseAll(spooled, out, cancellation);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Streams the parse result as NDJSON: one line per page, sheet row or slide as it is
+     * extracted, then a "metadata" line. Failures after streaming started end with an "error" line.
+     */
+    @PostMapping(
+        value = "/stream",
+        consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> parseStream(@RequestPart("file") @NotNull MultipartFile file,
+                                                             @RequestParam(value = "pages", required = false) String pages,
+                                                             @RequestParam(value = "tables", defaultValue = "true") boolean tables,
+                                                             @RequestParam(value = "sheets", required = false) String sheets,
+                                                             @RequestParam(value = "columns", required = false) String columns,
+                                                             @RequestParam(value = "rowOffset", defaultValue = "0") int rowOffset,
+                                                             @RequestParam(value = "rowLimit", required = false) Integer rowLimit,
+                                                             @RequestParam(value = "headerOnly", defaultValue = "false") boolean headerOnly,
+                                                             HttpServletRequest request) throws Exception {
+        ParseOptions options = options(pages, tables, sheets, columns, rowOffset, rowLimit, headerOnly)
+                .withCancellation(cancelOnAsyncEnd(request));
+        SpooledFile spooled = SpooledFile.spool(file);
+        StreamingResponseBody body = out -> {
+            NdjsonSink sink = new NdjsonSink(objectMapper, out, options.getCancellation());
+            try (spooled) {
+                service.streamDocument(spooled, options, sink);
+            } catch (Exception e) {
+                sink.emit("error", Map.of("message", String.valueOf(e.getMessage())));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * A token cancelled when the async request behind a streaming response ends: on async timeout,
+     * on a container error (usually the client disconnecting) and on completion. Once the body has
+     * been written the parse is already done, so the last one only matters when it ends early.
+     */
+    static CancellationToken cancelOnAsyncEnd(HttpServletRequest request) {
+        CancellationToken token = CancellationToken.none();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(token, new CallableProcessingInterceptor() {
+            @Override
+            public <T> Object handleTimeout(NativeWebRequest webRequest, Callable<T> task) {
+                token.cancel("request timed out");
+                return RESULT_NONE;
+            }
+
+            @Override
+            public <T> Object handleError(NativeWebRequest webRequest, Callable<T> task, Throwable t) {
+                token.cancel("client disconnected");
+                return RESULT_NONE;
+            }
+
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                token.cancel("request ended");
+            }
+        });
+        return token;
+    }
+
+    /**
+     * Builds parse options from request parameters, e.g. pages=1-3,7&tables=false, or for
+     * spreadsheets sheets=Sales,2&columns=Id,Total&rowOffset=100&rowLimit=50 or headerOnly=true.
+     */
+    static ParseOptions options(String pages, boolean tables, String sheets, String columns,
+                                int rowOffset, Integer rowLimit, boolean headerOnly) {
+        if (rowOffset < 0) throw new IllegalArgumentException("rowOffset must not be negative");
+        if (rowLimit != null && rowLimit < 0) throw new IllegalArgumentException("rowLimit must not be negative");
+
+        ParseOptions options = ParseOptions.defaults();
+        options.setPages(PageRange.parse(pages));
+        options.setExtractTables(tables);
+        options.setSheets(list(sheets));
+        options.setColumns(list(columns));
+        options.setRowOffset(rowOffset);
+        options.setRowLimit(rowLimit);
+        options.setHeaderOnly(headerOnly);
+        return options;
+    }
+
+    // Comma-separated request values; null when absent or blank
+    private static List<String> list(String value) {
+        if (value == null || value.isBlank()) return null;
+        List<String> items = Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+        return items.isEmpty() ? null : items;
     }
 }
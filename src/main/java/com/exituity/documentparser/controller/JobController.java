@@ -0,0 +1,77 @@
+package com.exituity.documentparser.controller;
+
+import com.exituity.documentparser.job.ParseJob;
+import com.exituity.documentparser.job.ParseJobService;
+import com.exituity.documentparser.model.ParseOptions;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Map;
+
+/**
+ * JobController — asynchronous parsing for long-running documents.
+ * Submit returns a job id immediately; clients then poll the status and fetch the result,
+ * or cancel the job.
+ */
+@RestController
+@RequestMapping("/api/v1/parse/jobs")
+@Validated
+public class JobController {
+
+    private final ParseJobService jobService;
+
+    public JobController(ParseJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping(
+        consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<Map<String, Object>> submit(@RequestPart("file") @NotNull MultipartFile file,
+                                                      @RequestParam(value = "pages", required = false) String pages,
+                                                      @RequestParam(value = "tables", defaultValue = "true") boolean tables,
+                                                      @RequestParam(value = "sheets", required = false) String sheets,
+                                                      @RequestParam(value = "columns", required = false) String columns,
+                                                      @RequestParam(value = "rowOffset", defaultValue = "0") int rowOffset,
+                                                      @RequestParam(value = "rowLimit", required = false) Integer rowLimit,
+                                                      @RequestParam(value = "headerOnly", defaultValue = "false") boolean headerOnly) throws Exception {
+        ParseOptions options = DocumentController.options(pages, tables, sheets, columns, rowOffset, rowLimit, headerOnly);
+
+        ParseJob job = jobService.submit(file, options);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header("Location", "/api/v1/parse/jobs/" + job.getId())
+                .body(job.toStatus());
+    }
+
+    @GetMapping(value = "/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> status(@PathVariable String jobId) {
+        return ResponseEntity.ok(jobService.get(jobId).toStatus());
+    }
+
+    /**
+     * Cancels a queued or running job. A running parse stops at its next page, row or slide.
+     */
+    @DeleteMapping(value = "/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> cancel(@PathVariable String jobId) {
+        return ResponseEntity.ok(jobService.cancel(jobId).toStatus());
+    }
+
+    @GetMapping(value = "/{jobId}/result", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> result(@PathVariable String jobId) {
+        ParseJob job = jobService.get(jobId);
+
+        return switch (job.getStatus()) {
+            case SUCCEEDED -> ResponseEntity.ok(job.getResult());
+            case FAILED -> ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(job.toStatus());
+            case CANCELLED -> ResponseEntity.status(HttpStatus.GONE).body(job.toStatus());
+            default -> ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toStatus());
+        };
+    }
+}
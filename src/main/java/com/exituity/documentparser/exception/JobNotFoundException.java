@@ -0,0 +1,11 @@
+package com.exituity.documentparser.exception;
+
+/**
+ * Thrown when a parse job id is unknown or its result has already expired (HTTP 404).
+ */
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String jobId) {
+        super("Parse job not found or expired: " + jobId);
+    }
+}
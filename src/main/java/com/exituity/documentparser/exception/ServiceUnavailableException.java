@@ -0,0 +1,18 @@
+package com.exituity.documentparser.exception;
+
+/**
+ * Thrown when a request could not be admitted in time because the service is saturated (HTTP 503).
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
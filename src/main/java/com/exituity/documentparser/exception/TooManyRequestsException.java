@@ -0,0 +1,18 @@
+package com.exituity.documentparser.exception;
+
+/**
+ * Thrown when the service is at capacity and the client should retry later (HTTP 429).
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
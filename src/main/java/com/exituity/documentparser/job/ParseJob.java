@@ -0,0 +1,109 @@
+package com.exituity.documentparser.job;
+
+import com.exituity.documentparser.model.CancellationToken;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ParseJob — state of one asynchronous parse, updated by the worker thread and read by pollers.
+ */
+public class ParseJob {
+
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED }
+
+    private final String id;
+    private final String fileName;
+    private final Instant submittedAt = Instant.now();
+    private final CancellationToken cancellation = CancellationToken.none();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant finishedAt;
+    private volatile Object result;
+    private volatile String error;
+
+    public ParseJob(String id, String fileName) {
+        this.id = id;
+        this.fileName = fileName;
+    }
+
+    /**
+     * Moves a queued job to RUNNING; false if it was cancelled while waiting.
+     */
+    synchronized boolean markRunning() {
+        if (status != Status.QUEUED) return false;
+        status = Status.RUNNING;
+        return true;
+    }
+
+    synchronized void succeed(Object result) {
+        if (isFinished()) return;
+        this.result = result;
+        finish(Status.SUCCEEDED);
+    }
+
+    synchronized void fail(String error) {
+        if (isFinished()) return;
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    /**
+     * Cancels a queued or running job; a running parse stops at its next check and its partial
+     * result is dropped. Returns false if the job had already finished.
+     */
+    synchronized boolean cancel() {
+        if (isFinished()) return false;
+        cancellation.cancel("job cancelled");
+        finish(Status.CANCELLED);
+        return true;
+    }
+
+    private void finish(Status finalStatus) {
+        this.finishedAt = Instant.now();
+        this.status = finalStatus;
+    }
+
+    CancellationToken getCancellation() {
+        return cancellation;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    /**
+     * Status view returned by the polling endpoint (never includes the result itself).
+     */
+    public Map<String, Object> toStatus() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("jobId", id);
+        view.put("fileName", fileName);
+        view.put("status", status);
+        view.put("submittedAt", submittedAt.toString());
+        view.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+        if (error != null) view.put("error", error);
+        return view;
+    }
+}
@@ -0,0 +1,139 @@
+package com.exituity.documentparser.job;
+
+import com.exituity.documentparser.exception.JobNotFoundException;
+import com.exituity.documentparser.exception.TooManyRequestsException;
+import com.exituity.documentparser.model.ParseOptions;
+import com.exituity.documentparser.service.DocumentService;
+import com.exituity.documentparser.upload.SpooledFile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ParseJobService — runs parses in the background for the job API.
+ *
+ * Jobs run on a bounded executor; when its queue is full new submissions are rejected
+ * with 429 instead of piling up. Each job gets its own parse deadline (parser.jobs.timeout,
+ * longer than the per-request one) and can be cancelled. Finished jobs are kept for a TTL
+ * and then dropped.
+ */
+@Service
+public class ParseJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParseJobService.class);
+
+    private final DocumentService documentService;
+    private final ThreadPoolExecutor executor;
+    private final Duration resultTtl;
+    private final Duration timeout;
+    private final Map<String, ParseJob> jobs = new ConcurrentHashMap<>();
+
+    public ParseJobService(DocumentService documentService,
+                           @Value("${parser.jobs.threads:2}") int threads,
+                           @Value("${parser.jobs.queue-capacity:50}") int queueCapacity,
+                           @Value("${parser.jobs.result-ttl:15m}") Duration resultTtl,
+                           @Value("${parser.jobs.timeout:30m}") Duration timeout) {
+        this.documentService = documentService;
+        this.resultTtl = resultTtl;
+        this.timeout = timeout;
+
+        AtomicInteger counter = new AtomicInteger(1);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "parse-job-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Spools the upload and queues it for parsing. A full queue is detected before the upload
+     * is copied, so rejected requests do not pay for the disk write.
+     *
+     * @throws TooManyRequestsException if the job queue is full
+     */
+    public ParseJob submit(MultipartFile file, ParseOptions options) throws Exception {
+        // Checked again by the executor below, which stays authoritative under a race
+        if (executor.getQueue().remainingCapacity() == 0) throw queueFull();
+
+        // The request's MultipartFile is cleaned up when the request ends, so keep our own copy
+        SpooledFile spooled = SpooledFile.spool(file);
+        ParseJob job = new ParseJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+
+        try {
+            jobs.put(job.getId(), job);
+            executor.execute(() -> run(job, spooled, options));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            spooled.close();
+            throw queueFull();
+        }
+        return job;
+    }
+
+    private TooManyRequestsException queueFull() {
+        return new TooManyRequestsException("Parse job queue is full (" + executor.getQueue().size()
+                + " waiting); retry later", 5);
+    }
+
+    public ParseJob get(String jobId) {
+        ParseJob job = jobs.get(jobId);
+        if (job == null) throw new JobNotFoundException(jobId);
+        return job;
+    }
+
+    /**
+     * Cancels a job that has not finished yet; the job is reported as CANCELLED either way.
+     */
+    public ParseJob cancel(String jobId) {
+        ParseJob job = get(jobId);
+        job.cancel();
+        return job;
+    }
+
+    private void run(ParseJob job, SpooledFile file, ParseOptions options) {
+        try (file) {
+            if (!job.markRunning()) return; // cancelled while queued
+
+            // the deadline starts now rather than at submission, so queueing time does not count
+            ParseOptions bounded = timeout.isZero() || timeout.isNegative()
+                    ? options.withCancellation(job.getCancellation())
+                    : options.withCancellation(job.getCancellation().withDeadline(timeout));
+            job.succeed(documentService.parseDocument(file, bounded));
+        } catch (Exception e) {
+            log.warn("Parse job {} failed: {}", job.getId(), e.getMessage());
+            job.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Drops finished jobs whose results have outlived the TTL.
+     */
+    @Scheduled(fixedDelayString = "${parser.jobs.cleanup-interval-ms:60000}")
+    public void expireFinishedJobs() {
+        Instant cutoff = Instant.now().minus(resultTtl);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
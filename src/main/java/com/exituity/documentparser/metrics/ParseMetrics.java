@@ -0,0 +1,149 @@
+package com.exituity.documentparser.metrics;
+
+import com.exituity.documentparser.model.Metadata;
+import com.exituity.documentparser.model.ParsedDocument;
+import com.exituity.documentparser.model.PdfParsedData;
+import com.exituity.documentparser.model.Table;
+import com.exituity.documentparser.parser.Parser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParseMetrics — Micrometer timers and summaries for each stage of the parse pipeline.
+ *
+ * Every stage is recorded in the parse.stage timer, tagged by stage, parser, MIME type and outcome.
+ * Per-document sizes go to the parse.document.* summaries, and failures to parse.failures.
+ * The MIME type tag is limited to the types the parser declares, so client-supplied
+ * Content-Type headers cannot blow up tag cardinality.
+ */
+@Component
+public class ParseMetrics {
+
+    public static final String STAGE_SPOOL = "spool";
+    public static final String STAGE_DETECT = "detect";
+    public static final String STAGE_PARSE = "parse";
+    public static final String STAGE_TEXT = "text";
+    public static final String STAGE_TABLES = "tables";
+    public static final String STAGE_OCR_RENDER = "ocr.render";
+    public static final String STAGE_OCR_RECOGNIZE = "ocr.recognize";
+    public static final String STAGE_SERIALIZE = "serialize";
+
+    public static final String NONE = "none";
+    public static final String OTHER = "other";
+
+    /**
+     * A stage body whose duration is recorded.
+     */
+    @FunctionalInterface
+    public interface StageTask<T> {
+        T call() throws Exception;
+    }
+
+    private final MeterRegistry registry;
+
+    public ParseMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Runs the task and records its duration; exceptions are counted as failures and rethrown.
+     */
+    public <T> T time(String stage, String parser, String type, StageTask<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            T result = task.call();
+            record(stage, parser, type, System.nanoTime() - start, true);
+            return result;
+        } catch (Exception e) {
+            record(stage, parser, type, System.nanoTime() - start, false);
+            failure(stage, parser, type, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Records a stage measured by the caller (loops and worker threads where wrapping is awkward).
+     */
+    public void record(String stage, String parser, String type, long nanos, boolean success) {
+        Timer.builder("parse.stage")
+                .description("Time spent in each stage of the parse pipeline")
+                .tag("stage", stage)
+                .tag("parser", parser)
+                .tag("type", type)
+                .tag("outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void failure(String stage, String parser, String type, Throwable error) {
+        Counter.builder("parse.failures")
+                .description("Parse pipeline failures")
+                .tag("stage", stage)
+                .tag("parser", parser)
+                .tag("type", type)
+                .tag("exception", error.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Records the size of a parsed document: bytes in, pages (or slides / sheets) and table rows out.
+     */
+    public void recordDocument(String parser, String type, long bytes, Object result) {
+        summary("parse.document.bytes", "Size of parsed uploads", "bytes", parser, type).record(bytes);
+
+        Metadata metadata = null;
+        List<Table> tables = null;
+        if (result instanceof PdfParsedData pdf) {
+            metadata = pdf.getMetadata();
+            tables = pdf.getTables();
+        } else if (result instanceof ParsedDocument doc) {
+            metadata = doc.getMetadata();
+            tables = doc.getTables();
+        }
+
+        if (metadata != null) {
+            summary("parse.document.pages", "Pages, slides or sheets per parsed document", null, parser, type)
+                    .record(metadata.getPageCount());
+        }
+        if (tables != null) {
+            long rows = tables.stream().mapToLong(t -> t.getRows() != null ? t.getRows().size() : 0).sum();
+            summary("parse.document.rows", "Table rows per parsed document", null, parser, type).record(rows);
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String unit, String parser, String type) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(unit)
+                .tag("parser", parser)
+                .tag("type", type)
+                .register(registry);
+    }
+
+    /**
+     * Short parser name used as the parser tag, e.g. PdfParser → pdf.
+     */
+    public static String parserTag(Parser parser) {
+        String name = parser.getClass().getSimpleName();
+        if (name.endsWith("Parser")) name = name.substring(0, name.length() - "Parser".length());
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The content type as a tag value, or "other" when the parser does not declare it.
+     */
+    public static String typeTag(Parser parser, String contentType) {
+        if (contentType == null) return OTHER;
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return parser.supportedTypes().contains(type) ? type : OTHER;
+    }
+}
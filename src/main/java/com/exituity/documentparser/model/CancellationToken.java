@@ -0,0 +1,73 @@
+package com.exituity.documentparser.model;
+
+import java.time.Duration;
+
+/**
+ * CancellationToken — per-request deadline and cancel flag that parsers poll between units
+ * of work (pages, rows, slides, OCR pages), so abandoned or runaway parses stop promptly.
+ * An interrupted thread also counts as cancelled, and so does a cancelled parent token.
+ */
+public final class CancellationToken {
+
+    private final CancellationToken parent;
+    private final Duration timeout;
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private volatile String cancelReason;
+
+    private CancellationToken(CancellationToken parent, Duration timeout) {
+        this.parent = parent;
+        this.timeout = timeout;
+        this.hasDeadline = timeout != null;
+        // only meaningful with hasDeadline; nanoTime() may be negative, so no sentinel value is safe
+        this.deadlineNanos = hasDeadline ? System.nanoTime() + timeout.toNanos() : 0;
+    }
+
+    public static CancellationToken none() {
+        return new CancellationToken(null, null);
+    }
+
+    public static CancellationToken withTimeout(Duration timeout) {
+        return new CancellationToken(null, timeout);
+    }
+
+    /**
+     * A token with its own deadline, counted from now, that is also cancelled with this one;
+     * e.g. a request's disconnect token plus the parse deadline started on admission.
+     */
+    public CancellationToken withDeadline(Duration timeout) {
+        return new CancellationToken(this, timeout);
+    }
+
+    public boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    /**
+     * Stops the work at its next check; the first reason given is the one reported.
+     */
+    public void cancel(String reason) {
+        if (cancelReason == null) cancelReason = reason;
+    }
+
+    public boolean isCancelled() {
+        return cancelReason != null
+                || deadlinePassed()
+                || (parent != null && parent.isCancelled())
+                || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Why the work was stopped, for the issues list.
+     */
+    public String reason() {
+        if (cancelReason != null) return "cancelled (" + cancelReason + ")";
+        if (parent != null && parent.isCancelled()) return parent.reason();
+        if (deadlinePassed()) return "deadline of " + timeout.toSeconds() + "s exceeded";
+        return "interrupted";
+    }
+
+    private boolean deadlinePassed() {
+        return hasDeadline && System.nanoTime() - deadlineNanos > 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.exituity.documentparser.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PageRange — 1-based page selection parsed from a request, e.g. "1-3,5,10-".
+ * An open-ended range ("10-") runs to the last page.
+ */
+public final class PageRange {
+
+    private final List<int[]> ranges;
+    private final String spec;
+
+    private PageRange(List<int[]> ranges, String spec) {
+        this.ranges = ranges;
+        this.spec = spec;
+    }
+
+    /**
+     * Parses a range spec; returns null (meaning all pages) when the spec is blank.
+     *
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public static PageRange parse(String spec) {
+        if (spec == null || spec.isBlank()) return null;
+
+        List<int[]> ranges = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String token = part.trim();
+            try {
+                int dash = token.indexOf('-');
+                int start;
+                int end;
+                if (dash < 0) {
+                    start = end = Integer.parseInt(token);
+                } else {
+                    start = Integer.parseInt(token.substring(0, dash).trim());
+                    String endPart = token.substring(dash + 1).trim();
+                    end = endPart.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(endPart);
+                }
+                if (start < 1 || end < start) throw new NumberFormatException();
+                ranges.add(new int[]{start, end});
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid page range '" + token + "' in '" + spec + "'");
+            }
+        }
+        return new PageRange(ranges, spec.replace(" ", ""));
+    }
+
+    public boolean includes(int page) {
+        for (int[] range : ranges) {
+            if (page >= range[0] && page <= range[1]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Upper bound on the number of pages selected, whatever the document size;
+     * Integer.MAX_VALUE when a range is open-ended.
+     */
+    public int maxPageCount() {
+        long count = 0;
+        for (int[] range : ranges) {
+            if (range[1] == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+            count += range[1] - range[0] + 1;
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Selected pages that exist in a document of the given size, in ascending order.
+     */
+    public List<Integer> select(int pageCount) {
+        List<Integer> pages = new ArrayList<>();
+        for (int page = 1; page <= pageCount; page++) {
+            if (includes(page)) pages.add(page);
+        }
+        return pages;
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,96 @@
+package com.exituity.documentparser.model;
+
+import com.exituity.documentparser.service.AdmissionControl;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ParseOptions — per-request options that let parsers skip work the caller did not ask for.
+ * Parsers ignore options that do not apply to their format.
+ */
+@Data
+@NoArgsConstructor
+public class ParseOptions {
+
+    private PageRange pages;   // PDF pages to extract; null = all pages
+    private boolean extractTables = true;   // false = text only, skip PDF table detection
+
+    // Spreadsheet selection; other parsers ignore it
+    private List<String> sheets;    // sheet names or 1-based positions; null = all sheets
+    private List<String> columns;   // header names or 1-based column numbers, in output order; null = all
+    private int rowOffset;          // data rows to skip after each sheet's header row
+    private Integer rowLimit;       // max data rows per sheet; null = no limit
+    private boolean headerOnly;     // only each sheet's header row
+
+    // Not part of the cache key: it changes when work stops, not what a full parse returns
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CancellationToken cancellation = CancellationToken.none();
+
+    // Set once the parse is admitted, so parsers can adjust what it is charged
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AdmissionControl.Permit admission = AdmissionControl.Permit.NONE;
+
+    public static ParseOptions defaults() {
+        return new ParseOptions();
+    }
+
+    /**
+     * Copy of these options bound to the given token, so a shared options object never
+     * carries one request's deadline into another.
+     */
+    public ParseOptions withCancellation(CancellationToken token) {
+        ParseOptions copy = copy();
+        copy.setCancellation(token);
+        return copy;
+    }
+
+    /**
+     * Copy of these options bound to the given admission permit, for the same reason.
+     */
+    public ParseOptions withAdmission(AdmissionControl.Permit permit) {
+        ParseOptions copy = copy();
+        copy.setAdmission(permit);
+        return copy;
+    }
+
+    private ParseOptions copy() {
+        ParseOptions copy = new ParseOptions();
+        copy.setPages(pages);
+        copy.setExtractTables(extractTables);
+        copy.setSheets(sheets);
+        copy.setColumns(columns);
+        copy.setRowOffset(rowOffset);
+        copy.setRowLimit(rowLimit);
+        copy.setHeaderOnly(headerOnly);
+        copy.setCancellation(cancellation);
+        copy.setAdmission(admission);
+        return copy;
+    }
+
+    /**
+     * Whether any spreadsheet selection was requested, i.e. a sheet may be read only in part.
+     */
+    public boolean hasSheetSelection() {
+        return sheets != null || columns != null || rowOffset > 0 || rowLimit != null || headerOnly;
+    }
+
+    /**
+     * 1-based page numbers to extract from a document with the given page count.
+     */
+    public List<Integer> selectPages(int pageCount) {
+        if (pages != null) return pages.select(pageCount);
+
+        List<Integer> all = new ArrayList<>(pageCount);
+        for (int page = 1; page <= pageCount; page++) {
+            all.add(page);
+        }
+        return all;
+    }
+}
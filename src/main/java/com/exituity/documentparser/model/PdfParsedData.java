@@ -34,5 +34,6 @@ public class PdfParsedData {
         private int pageNumber;
         private String text;
         private List<Table> tables;
+        private String source;        // "text-layer" or "ocr"
     }
 }
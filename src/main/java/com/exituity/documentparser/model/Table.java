@@ -15,6 +15,6 @@ public class Table {
     private String tableName;
     private List<String> headers;
     private List<List<String>> rows;
-    private List<Object> structuredRows;
+    private List<Object> structuredRows;   // typed cell values per data row, aligned with headers
     private double confidenceScore;
 }
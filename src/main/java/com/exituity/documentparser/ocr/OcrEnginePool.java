@@ -0,0 +1,176 @@
+package com.exituity.documentparser.ocr;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import com.exituity.documentparser.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OcrEnginePool — fixed pool of pre-initialized Tesseract engines.
+ *
+ * Each engine keeps its native handle (and loaded traineddata) for the life of the pool; the
+ * handles are initialized by the warm-up and ended on shutdown. A Tesseract instance is not
+ * thread-safe, so every OCR call borrows an engine exclusively and returns it afterwards.
+ * Wait time and utilization are published as Micrometer meters (ocr.pool.*) to help size
+ * the pool per node. A borrow that times out is rejected with HTTP 503.
+ */
+@Component
+public class OcrEnginePool {
+
+    private static final Logger log = LoggerFactory.getLogger(OcrEnginePool.class);
+
+    /**
+     * Work to run against a borrowed engine.
+     */
+    @FunctionalInterface
+    public interface OcrTask<T> {
+        T run(Tesseract engine) throws TesseractException;
+    }
+
+    private final BlockingQueue<WarmTesseract> idle;
+    private final List<WarmTesseract> engines = new ArrayList<>();
+    private final int size;
+    private final Duration borrowTimeout;
+    private final boolean warmUp;
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final Timer waitTimer;
+    private volatile boolean closed;
+
+    public OcrEnginePool(@Value("${ocr.engines.pool-size:0}") int poolSize,
+                         @Value("${ocr.engines.borrow-timeout:30s}") Duration borrowTimeout,
+                         @Value("${ocr.engines.warm-up:true}") boolean warmUp,
+                         MeterRegistry registry) {
+        this.size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.borrowTimeout = borrowTimeout;
+        this.warmUp = warmUp;
+        this.idle = new ArrayBlockingQueue<>(size);
+
+        for (int i = 0; i < size; i++) {
+            WarmTesseract engine = TesseractFactory.create();
+            engines.add(engine);
+            idle.add(engine);
+        }
+
+        this.waitTimer = Timer.builder("ocr.pool.wait")
+                .description("Time spent waiting to borrow an OCR engine")
+                .register(registry);
+        Gauge.builder("ocr.pool.size", () -> size).register(registry);
+        Gauge.builder("ocr.pool.in.use", inUse, AtomicInteger::get).register(registry);
+        Gauge.builder("ocr.pool.utilization", this, OcrEnginePool::utilization).register(registry);
+    }
+
+    /**
+     * Initializes every engine's native handle and runs one recognition on it, so the library,
+     * the traineddata and the recognizer are loaded before the first real request. If Tesseract
+     * is missing the service still starts, but the engines stay cold and OCR requests fail.
+     */
+    @PostConstruct
+    public void warmUp() {
+        if (!warmUp) return;
+
+        BufferedImage sample = warmUpImage();
+        long start = System.currentTimeMillis();
+        for (WarmTesseract engine : engines) {
+            try {
+                engine.initialize();
+                engine.doOCR(sample);
+            } catch (TesseractException | RuntimeException | LinkageError e) {
+                log.warn("OCR engines not pre-initialized, OCR is unavailable: {}", e.getMessage());
+                return;
+            }
+        }
+        log.info("Initialized {} OCR engines in {} ms", size, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Ends the native handles. Engines still borrowed are ended when they are returned.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        WarmTesseract engine;
+        while ((engine = idle.poll()) != null) {
+            engine.end();
+        }
+    }
+
+    /**
+     * Borrows an engine, runs the task and returns the engine to the pool.
+     */
+    public <T> T withEngine(OcrTask<T> task) throws TesseractException, InterruptedException {
+        WarmTesseract engine = borrow();
+        try {
+            return task.run(engine);
+        } finally {
+            release(engine);
+        }
+    }
+
+    /**
+     * @throws ServiceUnavailableException if no engine was returned within the borrow timeout
+     */
+    public WarmTesseract borrow() throws InterruptedException {
+        long start = System.nanoTime();
+        WarmTesseract engine = idle.poll(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (engine == null) {
+            throw new ServiceUnavailableException("No OCR engine available within "
+                    + borrowTimeout.toSeconds() + "s; retry later", Math.max(1, borrowTimeout.toSeconds()));
+        }
+        inUse.incrementAndGet();
+        return engine;
+    }
+
+    public void release(WarmTesseract engine) {
+        inUse.decrementAndGet();
+        if (closed) {
+            engine.end();
+        } else {
+            idle.offer(engine);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double utilization() {
+        return (double) inUse.get() / size;
+    }
+
+    private static BufferedImage warmUpImage() {
+        BufferedImage image = new BufferedImage(200, 50, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.setColor(Color.BLACK);
+            g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 24));
+            g.drawString("warm up", 10, 35);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
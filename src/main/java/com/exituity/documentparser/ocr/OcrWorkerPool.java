@@ -0,0 +1,182 @@
+package com.exituity.documentparser.ocr;
+
+import com.exituity.documentparser.exception.ServiceUnavailableException;
+import com.exituity.documentparser.metrics.ParseMetrics;
+import com.exituity.documentparser.model.CancellationToken;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OcrWorkerPool — bounded pool of OCR worker threads shared by every request.
+ *
+ * The global limit is the number of worker threads; each worker borrows a Tesseract engine
+ * from the OcrEnginePool per page, so there are never more workers than engines. A single
+ * request may only have a limited number of pages in flight, so one large scan cannot take
+ * every worker. A page whose engine borrow times out fails the whole request with 503.
+ */
+@Component
+public class OcrWorkerPool {
+
+    private static final Logger log = LoggerFactory.getLogger(OcrWorkerPool.class);
+
+    private static final int OCR_DPI = 300;
+    private static final long POLL_MILLIS = 200;
+
+    // Only PdfParser renders pages for OCR
+    private static final String METRICS_PARSER = "pdf";
+    private static final String METRICS_TYPE = "application/pdf";
+
+    private final ExecutorService workers;
+    private final int perRequestLimit;
+    private final OcrEnginePool engines;
+    private final ParseMetrics metrics;
+
+    public OcrWorkerPool(OcrEnginePool engines,
+                         ParseMetrics metrics,
+                         @Value("${ocr.workers.threads:0}") int threads,
+                         @Value("${ocr.workers.per-request:2}") int perRequestLimit) {
+        this.engines = engines;
+        this.metrics = metrics;
+        // Extra workers would only queue on the engine pool, which ImageParser borrows from as well
+        int poolSize = Math.min(threads > 0 ? threads : engines.size(), engines.size());
+        this.workers = Executors.newFixedThreadPool(poolSize, namedThreads("ocr-worker-"));
+        this.perRequestLimit = Math.max(1, Math.min(perRequestLimit, poolSize));
+    }
+
+    /**
+     * Renders the given pages and recognizes them concurrently.
+     *
+     * Rendering stays on the calling thread (PDDocument is not thread-safe) while recognition
+     * runs on the workers, so page N+1 is rendered while page N is being recognized.
+     *
+     * @param document    loaded PDF
+     * @param pageIndexes  zero-based page indexes to OCR
+     * @param cancellation checked before each page is rendered and again before it is handed to an
+     *                     engine; once it fires no more pages are started. A page already inside
+     *                     Tesseract runs to the end (native OCR ignores interrupts), but its
+     *                     result is no longer waited for
+     * @return recognized text per requested page, in the same order; empty string where OCR failed or was skipped
+     * @throws ServiceUnavailableException if a page could not get an engine within the borrow timeout
+     */
+    public List<String> recognizePages(PDDocument document, List<Integer> pageIndexes, CancellationToken cancellation)
+            throws InterruptedException {
+        PDFRenderer renderer = new PDFRenderer(document);
+        Semaphore inFlight = new Semaphore(perRequestLimit);
+        List<Future<String>> futures = new ArrayList<>(pageIndexes.size());
+
+        try {
+            for (int pageIndex : pageIndexes) {
+                // Also bounds how many rendered page images this request holds at once
+                inFlight.acquire();
+
+                if (cancellation.isCancelled()) {
+                    inFlight.release();
+                    futures.add(null);
+                    continue;
+                }
+
+                BufferedImage image = render(renderer, pageIndex);
+                if (image == null) {
+                    inFlight.release();
+                    futures.add(null);
+                    continue;
+                }
+
+                futures.add(workers.submit(() -> {
+                    try {
+                        // the page may have waited for a worker; don't occupy an engine for a dead request
+                        if (cancellation.isCancelled()) return "";
+                        return metrics.time(ParseMetrics.STAGE_OCR_RECOGNIZE, METRICS_PARSER, METRICS_TYPE,
+                                () -> engines.withEngine(engine -> engine.doOCR(image)).trim());
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            List<String> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), pageIndexes.get(i), cancellation));
+            }
+            return results;
+        } catch (InterruptedException | ServiceUnavailableException e) {
+            futures.forEach(f -> {
+                if (f != null) f.cancel(true);
+            });
+            throw e;
+        }
+    }
+
+    private BufferedImage render(PDFRenderer renderer, int pageIndex) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage image = renderer.renderImageWithDPI(pageIndex, OCR_DPI, ImageType.RGB);
+            metrics.record(ParseMetrics.STAGE_OCR_RENDER, METRICS_PARSER, METRICS_TYPE, System.nanoTime() - start, true);
+            return image;
+        } catch (Exception e) {
+            metrics.record(ParseMetrics.STAGE_OCR_RENDER, METRICS_PARSER, METRICS_TYPE, System.nanoTime() - start, false);
+            metrics.failure(ParseMetrics.STAGE_OCR_RENDER, METRICS_PARSER, METRICS_TYPE, e);
+            log.warn("OCR render failed on page {}: {}", pageIndex + 1, e.getMessage());
+            return null;
+        }
+    }
+
+    private String await(Future<String> future, int pageIndex, CancellationToken cancellation) throws InterruptedException {
+        if (future == null) return "";
+        try {
+            // Poll so a cancelled request stops waiting without finishing the page. cancel(true) drops a
+            // page still queued for a worker; one already in doOCR keeps its engine until Tesseract returns
+            while (true) {
+                try {
+                    return future.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (cancellation.isCancelled()) {
+                        future.cancel(true);
+                        return "";
+                    }
+                }
+            }
+        } catch (CancellationException e) {
+            return "";
+        } catch (ExecutionException e) {
+            // a saturated engine pool is the service's problem, not the page's: surface it as 503
+            if (e.getCause() instanceof ServiceUnavailableException unavailable) throw unavailable;
+            log.warn("OCR failed on page {}: {}", pageIndex + 1, e.getCause().getMessage());
+            return "";
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.exituity.documentparser.ocr;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+
+/**
+ * TesseractFactory — builds Tesseract engines with the tessdata path auto-detected
+ * for the current OS (Windows / Mac / Linux). Engines keep their native handle between
+ * calls (see WarmTesseract).
+ */
+public final class TesseractFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(TesseractFactory.class);
+
+    private TesseractFactory() {
+    }
+
+    public static WarmTesseract create() {
+        WarmTesseract tesseract = new WarmTesseract();
+        tesseract.setLanguage("eng");
+
+        try {
+            File tessPath = detectDatapath();
+            if (tessPath.exists()) {
+                tesseract.setDatapath(tessPath.getAbsolutePath());
+            } else {
+                log.warn("Tesseract datapath not found, OCR may fail");
+            }
+        } catch (Exception e) {
+            log.warn("Failed to set Tesseract path: {}", e.getMessage());
+        }
+
+        return tesseract;
+    }
+
+    private static File detectDatapath() {
+        String os = System.getProperty("os.name").toLowerCase();
+        File tessPath;
+
+        if (os.contains("win")) {
+            // ✅ Common Windows installation paths
+            tessPath = new File("C:\\Program Files\\Tesseract-OCR\\tessdata");
+            if (!tessPath.exists()) {
+                tessPath = new File("C:\\Users\\" + System.getProperty("user.name") + "\\Tesseract-OCR\\tessdata");
+            }
+        } else if (os.contains("mac")) {
+            tessPath = new File("/usr/local/share/tessdata");
+        } else {
+            // Linux or Unix-like
+            tessPath = new File("/usr/share/tesseract-ocr/4.00/tessdata");
+        }
+        return tessPath;
+    }
+}
@@ -0,0 +1,50 @@
+package com.exituity.documentparser.ocr;
+
+import net.sourceforge.tess4j.Tesseract;
+
+/**
+ * WarmTesseract — a Tesseract that keeps its native TessBaseAPI handle between calls.
+ *
+ * Plain Tesseract creates, initializes (loading the traineddata) and deletes the handle on
+ * every doOCR. Here the handle is initialized on first use and only cleared after each call;
+ * {@link #end()} releases it. Like Tesseract itself, an instance must not be shared between threads.
+ */
+public class WarmTesseract extends Tesseract {
+
+    private boolean initialized;
+
+    @Override
+    protected void init() {
+        if (initialized) return;
+        super.init();
+        initialized = true;
+    }
+
+    /**
+     * Called by doOCR after each recognition: drops the image and results, keeps the handle.
+     */
+    @Override
+    protected void dispose() {
+        if (initialized) getAPI().TessBaseAPIClear(getHandle());
+    }
+
+    /**
+     * Initializes the handle now instead of on the first recognition.
+     */
+    public void initialize() {
+        init();
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Deletes the native handle; the next call initializes a new one.
+     */
+    public void end() {
+        if (!initialized) return;
+        initialized = false;
+        super.dispose();
+    }
+}
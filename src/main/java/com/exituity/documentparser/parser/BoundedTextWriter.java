@@ -0,0 +1,87 @@
+package com.exituity.documentparser.parser;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * BoundedTextWriter — receives text from a Tika content handler and hands it on in chunks,
+ * holding at most one chunk in memory. Writing past the character cap keeps what fits and
+ * then aborts the parse, so a single huge document cannot exhaust the heap.
+ */
+final class BoundedTextWriter extends Writer {
+
+    /**
+     * Receives each completed chunk of text, in document order.
+     */
+    @FunctionalInterface
+    interface ChunkConsumer {
+        void accept(String chunk) throws IOException;
+    }
+
+    private final long maxChars;
+    private final int chunkChars;
+    private final ChunkConsumer consumer;
+    private final StringBuilder buffer;
+    private long written;
+    private boolean truncated;
+
+    BoundedTextWriter(long maxChars, int chunkChars, ChunkConsumer consumer) {
+        this.maxChars = maxChars;
+        this.chunkChars = chunkChars;
+        this.consumer = consumer;
+        this.buffer = new StringBuilder(chunkChars);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        long room = maxChars - written;
+        int accepted = (int) Math.min(len, room);
+
+        int pos = off;
+        int end = off + accepted;
+        while (pos < end) {
+            int n = Math.min(end - pos, chunkChars - buffer.length());
+            buffer.append(cbuf, pos, n);
+            pos += n;
+            if (buffer.length() >= chunkChars) flush();
+        }
+        written += accepted;
+
+        if (accepted < len) {
+            truncated = true;
+            throw new LimitReachedException(maxChars);
+        }
+    }
+
+    /**
+     * Hands the buffered text to the consumer.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (buffer.length() == 0) return;
+        consumer.accept(buffer.toString());
+        buffer.setLength(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    long getWritten() {
+        return written;
+    }
+
+    /**
+     * Thrown once the cap is hit; content handlers wrap it in a SAXException.
+     */
+    static final class LimitReachedException extends IOException {
+        LimitReachedException(long maxChars) {
+            super("Text limit of " + maxChars + " characters reached");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.exituity.documentparser.parser;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * CellValues — typed spreadsheet cell values, shared by the workbook and SAX readers.
+ *
+ * A value is null (blank), String, Long (whole numbers), Double, Boolean, LocalDate or
+ * LocalDateTime (date-formatted numbers). Formula cells carry their cached result.
+ * {@link #text} renders the text-row form of a cell from its own type, never converting the cell.
+ */
+final class CellValues {
+
+    // Whole numbers up to 2^53 convert to long exactly
+    private static final double MAX_EXACT_LONG = 9_007_199_254_740_992d;
+
+    private CellValues() {
+    }
+
+    /**
+     * Reads a cell straight from its type, without converting it to a string first.
+     */
+    static Object of(Cell cell) {
+        if (cell == null) return null;
+
+        CellType type = cell.getCellType();
+        if (type == CellType.FORMULA) type = cell.getCachedFormulaResultType();
+
+        return switch (type) {
+            case NUMERIC -> DateUtil.isCellDateFormatted(cell)
+                    ? date(cell.getNumericCellValue())
+                    : number(cell.getNumericCellValue());
+            case STRING -> string(cell.getStringCellValue());
+            case BOOLEAN -> cell.getBooleanCellValue();
+            case ERROR -> error(cell.getErrorCellValue());
+            default -> null; // BLANK
+        };
+    }
+
+    /**
+     * The cell as the text rows show it: .xlsx numbers as stored in the file (what the SAX reader
+     * sees), .xls numbers the way Excel displays them unformatted, TRUE/FALSE and error codes.
+     */
+    static String text(Cell cell) {
+        CellType type = cell.getCellType();
+        if (type == CellType.FORMULA) type = cell.getCachedFormulaResultType();
+
+        return switch (type) {
+            case NUMERIC -> cell instanceof XSSFCell xssf
+                    ? raw(xssf)
+                    : NumberToTextConverter.toText(cell.getNumericCellValue());
+            case STRING -> cell.getStringCellValue().trim();
+            case BOOLEAN -> cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+            case ERROR -> cell instanceof XSSFCell xssf ? raw(xssf) : error(cell.getErrorCellValue());
+            default -> ""; // BLANK
+        };
+    }
+
+    private static String raw(XSSFCell cell) {
+        String raw = cell.getRawValue();
+        return raw == null ? "" : raw.trim();
+    }
+
+    static Object number(double value) {
+        if (value == Math.rint(value) && Math.abs(value) <= MAX_EXACT_LONG) {
+            return (long) value;
+        }
+        return value;
+    }
+
+    /**
+     * An Excel date serial as LocalDate, or LocalDateTime when it has a time of day.
+     */
+    static Object date(double serial) {
+        if (!DateUtil.isValidExcelDate(serial)) return number(serial);
+        LocalDateTime dateTime = DateUtil.getLocalDateTime(serial);
+        return dateTime.toLocalTime().equals(LocalTime.MIDNIGHT) ? dateTime.toLocalDate() : dateTime;
+    }
+
+    static String string(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    static String error(byte code) {
+        try {
+            return FormulaError.forInt(code).getString();
+        } catch (IllegalArgumentException e) {
+            return "#ERROR";
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.exituity.documentparser.parser;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvRowParser — incremental RFC 4180 reader. Characters are fed in arbitrary chunks and each
+ * completed row is handed on immediately, so only the current row is ever held in memory.
+ * Quoted fields may contain delimiters, doubled quotes and line breaks; blank rows are skipped.
+ */
+final class CsvRowParser {
+
+    /**
+     * Receives each completed, non-blank row.
+     */
+    @FunctionalInterface
+    interface RowConsumer {
+        void accept(List<String> cells) throws IOException;
+    }
+
+    private final char delimiter;
+    private final int maxRowChars;
+    private final RowConsumer consumer;
+
+    private final List<String> cells = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private boolean inQuotes;
+    private boolean quotePending;   // a quote inside a quoted field: either an escape or the closing quote
+    private boolean fieldQuoted;
+    private boolean pendingCr;
+    private int rowChars;
+
+    CsvRowParser(char delimiter, int maxRowChars, RowConsumer consumer) {
+        this.delimiter = delimiter;
+        this.maxRowChars = maxRowChars;
+        this.consumer = consumer;
+    }
+
+    void feed(CharBuffer chars) throws IOException {
+        while (chars.hasRemaining()) {
+            char c = chars.get();
+
+            if (inQuotes) {
+                if (quotePending) {
+                    quotePending = false;
+                    if (c == '"') {
+                        append(c);
+                        continue;
+                    }
+                    inQuotes = false; // closing quote; c is handled as unquoted below
+                } else {
+                    if (c == '"') {
+                        quotePending = true;
+                    } else {
+                        append(c);
+                    }
+                    continue;
+                }
+            }
+
+            if (pendingCr) {
+                pendingCr = false;
+                if (c == '\n') continue;
+            }
+
+            if (c == delimiter) {
+                endField();
+            } else if (c == '\n') {
+                endRow();
+            } else if (c == '\r') {
+                endRow();
+                pendingCr = true;
+            } else if (c == '"' && field.length() == 0 && !fieldQuoted) {
+                inQuotes = true;
+                fieldQuoted = true;
+            } else {
+                append(c);
+            }
+        }
+    }
+
+    /**
+     * Emits the last row when the input does not end with a line break.
+     */
+    void finish() throws IOException {
+        inQuotes = false;
+        quotePending = false;
+        if (field.length() > 0 || fieldQuoted || !cells.isEmpty()) endRow();
+    }
+
+    private void append(char c) {
+        if (++rowChars > maxRowChars) {
+            throw new IllegalArgumentException("CSV row longer than " + maxRowChars
+                    + " characters (unbalanced quote?)");
+        }
+        field.append(c);
+    }
+
+    private void endField() {
+        cells.add(field.toString().trim());
+        field.setLength(0);
+        fieldQuoted = false;
+    }
+
+    private void endRow() throws IOException {
+        endField();
+        if (cells.stream().anyMatch(v -> !v.isBlank())) {
+            consumer.accept(new ArrayList<>(cells));
+        }
+        cells.clear();
+        rowChars = 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.exituity.documentparser.parser;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ *  DocumentSink — receives parsed content incrementally (one page, row or slide at a time).
+ */
+@FunctionalInterface
+public interface DocumentSink {
+
+    /**
+     * Emits one event, e.g. type "page" with pageNumber/text fields.
+     */
+    void emit(String type, Map<String, Object> fields) throws IOException;
+}
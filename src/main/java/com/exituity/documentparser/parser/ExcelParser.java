@@ -1,25 +1,40 @@
 package com.exituity.documentparser.parser;
 
+import com.exituity.documentparser.model.CancellationToken;
 import com.exituity.documentparser.model.Metadata;
+import com.exituity.documentparser.model.ParseOptions;
 import com.exituity.documentparser.model.ParsedDocument;
 import com.exituity.documentparser.model.Table;
+import com.exituity.documentparser.upload.SpooledFile;
 import org.apache.poi.ss.usermodel.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
+import java.io.IOException;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 @Component
-public class ExcelParser implements Parser {
+public class ExcelParser implements StreamingParser {
 
     private static final Set<String> SUPPORTED_TYPES = Set.of(
             "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", // .xlsx
             "application/vnd.ms-excel" // .xls
     );
 
+    private static final String XLSX_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private final long streamingThreshold;
+    private final XlsxStreamingReader streamingReader = new XlsxStreamingReader();
+
+    public ExcelParser(@Value("${parser.excel.streaming-threshold:10MB}") DataSize streamingThreshold) {
+        this.streamingThreshold = streamingThreshold.toBytes();
+    }
+
     @Override
     public boolean canParse(String contentType, String filename) {
         if (contentType != null && SUPPORTED_TYPES.contains(contentType.toLowerCase())) return true;
@@ -31,78 +46,298 @@ public class ExcelParser implements Parser {
         return false;
     }
 
+    @Override
+    public Set<String> supportedTypes() {
+        return SUPPORTED_TYPES;
+    }
+
+    @Override
+    public Set<String> supportedExtensions() {
+        return Set.of("xlsx", "xls");
+    }
+
+    @Override
+    public int priority() {
+        return PRIORITY_SPECIALISED;
+    }
+
+    // structuredRows now carries typed cell values; the text rows are unchanged
+    @Override
+    public String version() {
+        return "2";
+    }
+
     @Override
     public ParsedDocument parse(MultipartFile file) throws Exception {
+        return parse(file, ParseOptions.defaults());
+    }
+
+    /**
+     * Reads the requested sheets, columns and rows (all of them by default), stopping between
+     * rows once the request is cancelled; the sheets read so far are returned with an issue
+     * noting where it stopped.
+     */
+    @Override
+    public ParsedDocument parse(MultipartFile file, ParseOptions options) throws Exception {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Uploaded Excel file is empty or invalid.");
         }
 
+        // A selection may need only part of the workbook, which only the SAX reader can skip
+        boolean streaming = isXlsx(file) && (file.getSize() >= streamingThreshold || options.hasSheetSelection());
+        CancellationToken cancellation = options.getCancellation();
+
         List<Map<String, Object>> sheetList = new ArrayList<>();
         List<Table> allTables = new ArrayList<>();
+        List<String> issues = new ArrayList<>();
 
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(is)) {
+        try {
+            SheetWindow window = new SheetWindow(options, new XlsxStreamingReader.SheetRowHandler() {
+                private List<List<String>> rows;
+                private List<List<Object>> values;
 
-            for (Sheet sheet : workbook) {
-                List<List<String>> rows = new ArrayList<>();
+                @Override
+                public void startSheet(String sheetName) {
+                    rows = new ArrayList<>();
+                    values = new ArrayList<>();
+                }
 
-                for (Row row : sheet) {
-                    List<String> cells = new ArrayList<>();
+                @Override
+                public boolean wantsValues() {
+                    return true;
+                }
 
-                    for (int cn = 0; cn < row.getLastCellNum(); cn++) {
-                        Cell cell = row.getCell(cn, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                        cell.setCellType(CellType.STRING);
-                        cells.add(cell.getStringCellValue().trim());
-                    }
+                @Override
+                public void row(List<String> cells, List<Object> typed) {
+                    rows.add(cells);
+                    values.add(typed);
+                }
 
-                    if (cells.stream().anyMatch(v -> !v.isBlank())) {
-                        rows.add(cells);
+                @Override
+                public void endSheet(String sheetName) {
+                    addSheet(sheetName, rows, values, sheetList, allTables);
+                    if (cancellation.isCancelled()) {
+                        issues.add(stoppedIssue(sheetName, rows.size(), cancellation));
                     }
                 }
 
-                if (!rows.isEmpty()) {
-                    // Derive headers from first row if meaningful
-                    List<String> headers = new ArrayList<>(rows.get(0));
-                    List<List<String>> dataRows = rows.size() > 1 ? rows.subList(1, rows.size()) : Collections.emptyList();
-
-                 // use no-arg constructor then setters (if you prefer)
-                    Table table = new Table();
-                    table.setHeaders(headers);
-                    table.setRows(dataRows);
-                    table.setStructuredRows(new ArrayList<>());
-                    allTables.add(table);
-
-                    // Prepare structured sheet output
-                    Map<String, Object> sheetObj = new LinkedHashMap<>();
-                    sheetObj.put("sheetName", sheet.getSheetName());
-                    sheetObj.put("headers", headers);
-                    sheetObj.put("rows", dataRows);
-                    sheetList.add(sheetObj);
+                @Override
+                public boolean stopRequested() {
+                    return cancellation.isCancelled();
                 }
-            }
-
-            // Wrap output
-            Map<String, Object> textWrapper = new LinkedHashMap<>();
-            textWrapper.put("sheets", sheetList);
-
-            Metadata metadata = new Metadata(
-                    file.getOriginalFilename(),
-                    file.getContentType(),
-                    file.getSize(),
-                    workbook.getNumberOfSheets(),
-                    0.97,
-                    "Apache POI (ExcelParser)",
-                    DateTimeFormatter.ISO_INSTANT.format(Instant.now())
-            );
-
-            ParsedDocument parsed = new ParsedDocument();
-            parsed.setText(textWrapper);
-            parsed.setTables(allTables);
-            parsed.setMetadata(metadata);
+            });
+            int sheetCount = streaming ? readXlsx(file, window) : readWorkbook(file, window);
+            issues.addAll(window.getIssues());
 
+            ParsedDocument parsed = buildDocument(file, sheetList, allTables, sheetCount,
+                    streaming ? "Apache POI (ExcelParser, streaming)" : "Apache POI (ExcelParser)");
+            if (!issues.isEmpty()) parsed.setIssues(issues);
             return parsed;
         } catch (Exception e) {
             throw new RuntimeException(" Excel parsing failed: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Streams a "headers" event followed by one "row" event per data row of each requested sheet,
+     * then an "issues" event if requested columns were missing, then "metadata".
+     * .xlsx files always use the SAX reader here; legacy .xls files are read with HSSF.
+     */
+    @Override
+    public void stream(MultipartFile file, ParseOptions options, DocumentSink sink) throws Exception {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Uploaded Excel file is empty or invalid.");
+        }
+
+        CancellationToken cancellation = options.getCancellation();
+        SheetWindow window = new SheetWindow(options, new RowEmitter(sink, cancellation));
+        int sheetCount = isXlsx(file) ? readXlsx(file, window) : readWorkbook(file, window);
+
+        // a stream cannot carry a partial-result issue, so the client sees an error event instead
+        if (cancellation.isCancelled()) {
+            throw new CancellationException("Excel streaming stopped: " + cancellation.reason());
+        }
+        if (!window.getIssues().isEmpty()) sink.emit("issues", Map.of("issues", window.getIssues()));
+        sink.emit("metadata", Map.of("metadata", buildMetadata(file, sheetCount, "Apache POI (ExcelParser, streaming)")));
+    }
+
+    /**
+     * Runs the SAX reader over the upload, spooling it first unless it already is on disk.
+     */
+    private int readXlsx(MultipartFile file, XlsxStreamingReader.SheetRowHandler handler) throws Exception {
+        if (file instanceof SpooledFile) {
+            return streamingReader.read(file, handler);
+        }
+        // OPCPackage reads zip entries lazily from a file, but buffers them all from a stream
+        try (SpooledFile spooled = SpooledFile.spool(file)) {
+            return streamingReader.read(spooled, handler);
+        }
+    }
+
+    /**
+     * Loads the workbook (HSSF for .xls, XSSF for small .xlsx) and feeds it to the handler the
+     * same way the SAX reader does. Returns the number of sheets in the workbook.
+     */
+    private int readWorkbook(MultipartFile file, XlsxStreamingReader.SheetRowHandler handler) throws Exception {
+        try (Workbook workbook = UploadSources.openWorkbook(file)) {
+            int position = 0;
+            for (Sheet sheet : workbook) {
+                if (!handler.wantsSheet(sheet.getSheetName(), ++position)) continue;
+                handler.startSheet(sheet.getSheetName());
+
+                boolean typed = handler.wantsValues();
+                for (Row row : sheet) {
+                    List<String> cells = new ArrayList<>();
+                    List<Object> values = typed ? new ArrayList<>() : null;
+                    readRow(row, handler, cells, values);
+                    if (cells.stream().anyMatch(v -> !v.isBlank())) {
+                        handler.row(cells, values);
+                    }
+                    if (handler.stopRequested() || handler.sheetDone()) break;
+                }
+
+                handler.endSheet(sheet.getSheetName());
+                if (handler.stopRequested()) break;
+            }
+            return workbook.getNumberOfSheets();
+        }
+    }
+
+    /**
+     * Renders the row's cells positionally from each cell's own type, plus their typed values when
+     * values is non-null; columns the handler does not want stay blank and are never read.
+     */
+    private void readRow(Row row, XlsxStreamingReader.SheetRowHandler handler,
+                         List<String> cells, List<Object> values) {
+        for (int cn = 0; cn < row.getLastCellNum(); cn++) {
+            if (!handler.wantsColumn(cn)) {
+                cells.add("");
+                if (values != null) values.add(null);
+                continue;
+            }
+            Cell cell = row.getCell(cn, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
+            if (values == null) {
+                cells.add(CellValues.text(cell));
+                continue;
+            }
+            // string cells share one String between the text row and the typed values
+            Object value = CellValues.of(cell);
+            values.add(value);
+            cells.add(value instanceof String s ? s : CellValues.text(cell));
+        }
+    }
+
+    private static String stoppedIssue(String sheetName, int rowsRead, CancellationToken cancellation) {
+        return "Stopped in sheet '" + sheetName + "' after " + rowsRead + " rows: " + cancellation.reason();
+    }
+
+    private boolean isXlsx(MultipartFile file) {
+        if (file.getContentType() != null && XLSX_TYPE.equalsIgnoreCase(file.getContentType())) return true;
+        return file.getOriginalFilename() != null && file.getOriginalFilename().toLowerCase().endsWith(".xlsx");
+    }
+
+    private void addSheet(String sheetName, List<List<String>> rows, List<List<Object>> values,
+                          List<Map<String, Object>> sheetList, List<Table> allTables) {
+        if (rows.isEmpty()) return;
+
+        // Derive headers from first row if meaningful
+        List<String> headers = new ArrayList<>(rows.get(0));
+        List<List<String>> dataRows = rows.size() > 1 ? rows.subList(1, rows.size()) : Collections.emptyList();
+
+        // use no-arg constructor then setters (if you prefer)
+        Table table = new Table();
+        table.setHeaders(headers);
+        table.setRows(dataRows);
+        table.setStructuredRows(values.size() > 1
+                ? new ArrayList<>(values.subList(1, values.size()))
+                : new ArrayList<>());
+        allTables.add(table);
+
+        // Prepare structured sheet output
+        Map<String, Object> sheetObj = new LinkedHashMap<>();
+        sheetObj.put("sheetName", sheetName);
+        sheetObj.put("headers", headers);
+        sheetObj.put("rows", dataRows);
+        sheetList.add(sheetObj);
+    }
+
+    private ParsedDocument buildDocument(MultipartFile file, List<Map<String, Object>> sheetList,
+                                         List<Table> allTables, int sheetCount, String extractedBy) {
+        // Wrap output
+        Map<String, Object> textWrapper = new LinkedHashMap<>();
+        textWrapper.put("sheets", sheetList);
+
+        ParsedDocument parsed = new ParsedDocument();
+        parsed.setText(textWrapper);
+        parsed.setTables(allTables);
+        parsed.setMetadata(buildMetadata(file, sheetCount, extractedBy));
+
+        return parsed;
+    }
+
+    private Metadata buildMetadata(MultipartFile file, int sheetCount, String extractedBy) {
+        return new Metadata(
+                file.getOriginalFilename(),
+                file.getContentType(),
+                file.getSize(),
+                sheetCount,
+                0.97,
+                extractedBy,
+                DateTimeFormatter.ISO_INSTANT.format(Instant.now())
+        );
+    }
+
+    /**
+     * Turns sheet rows into stream events; the first non-blank row of a sheet is its header row.
+     * Row events carry the text cells as "cells" and their typed values as "values".
+     */
+    private static final class RowEmitter implements XlsxStreamingReader.SheetRowHandler {
+
+        private final DocumentSink sink;
+        private final CancellationToken cancellation;
+        private String sheetName;
+        private int rowNumber;
+
+        RowEmitter(DocumentSink sink, CancellationToken cancellation) {
+            this.sink = sink;
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        public void startSheet(String sheetName) {
+            this.sheetName = sheetName;
+            this.rowNumber = 0;
+        }
+
+        @Override
+        public boolean wantsValues() {
+            return true;
+        }
+
+        @Override
+        public void row(List<String> cells, List<Object> values) throws IOException {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("sheetName", sheetName);
+
+            if (rowNumber == 0) {
+                event.put("headers", cells);
+                sink.emit("headers", event);
+            } else {
+                event.put("rowNumber", rowNumber);
+                event.put("cells", cells);
+                if (values != null) event.put("values", values);
+                sink.emit("row", event);
+            }
+            rowNumber++;
+        }
+
+        @Override
+        public void endSheet(String sheetName) {
+        }
+
+        @Override
+        public boolean stopRequested() {
+            return cancellation.isCancelled();
+        }
+    }
 }
@@ -1,15 +1,17 @@
 package com.exituity.documentparser.parser;
 
+import com.exituity.documentparser.metrics.ParseMetrics;
 import com.exituity.documentparser.model.Metadata;
 import com.exituity.documentparser.model.ParsedDocument;
+import com.exituity.documentparser.ocr.OcrEnginePool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
-import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.InputStream;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
@@ -22,44 +24,18 @@ import java.util.*;
 @Component
 public class ImageParser implements Parser {
 
+    private static final Logger log = LoggerFactory.getLogger(ImageParser.class);
+
     private static final Set<String> IMAGE_TYPES = Set.of(
             "image/png", "image/jpeg", "image/jpg", "image/tiff", "image/bmp"
     );
 
-    private final Tesseract tesseract;
-
-    public ImageParser() {
-        tesseract = new Tesseract();
-        tesseract.setLanguage("eng");
-
-        // 🧩 Auto-detect and set Tesseract path safely
-        try {
-            String os = System.getProperty("os.name").toLowerCase();
-            File tessPath;
-
-            if (os.contains("win")) {
-                // ✅ Common Windows installation paths
-                tessPath = new File("C:\\Program Files\\Tesseract-OCR\\tessdata");
-                if (!tessPath.exists()) {
-                    tessPath = new File("C:\\Users\\" + System.getProperty("user.name") + "\\Tesseract-OCR\\tessdata");
-                }
-            } else if (os.contains("mac")) {
-                tessPath = new File("/usr/local/share/tessdata");
-            } else {
-                // Linux or Unix-like
-                tessPath = new File("/usr/share/tesseract-ocr/4.00/tessdata");
-            }
-
-            if (tessPath.exists()) {
-                tesseract.setDatapath(tessPath.getAbsolutePath());
-                System.out.println("Using Tesseract data path: " + tessPath);
-            } else {
-                System.err.println("Warning: Tesseract data path not found. OCR may fail.");
-            }
+    private final OcrEnginePool ocrEngines;
+    private final ParseMetrics metrics;
 
-        } catch (Exception e) {
-            System.err.println("Error setting Tesseract datapath: " + e.getMessage());
-        }
+    public ImageParser(OcrEnginePool ocrEngines, ParseMetrics metrics) {
+        this.ocrEngines = ocrEngines;
+        this.metrics = metrics;
     }
 
     @Override
@@ -73,6 +49,21 @@ public class ImageParser implements Parser {
         return false;
     }
 
+    @Override
+    public Set<String> supportedTypes() {
+        return IMAGE_TYPES;
+    }
+
+    @Override
+    public Set<String> supportedExtensions() {
+        return Set.of("png", "jpg", "jpeg", "tif", "bmp");
+    }
+
+    @Override
+    public int priority() {
+        return PRIORITY_SPECIALISED;
+    }
+
     @Override
     public ParsedDocument parse(MultipartFile file) throws Exception {
         ParsedDocument parsed = new ParsedDocument();
@@ -85,11 +76,16 @@ public class ImageParser implements Parser {
 
             // 🧠 Extract text using OCR
             String text;
+            String typeTag = ParseMetrics.typeTag(this, file.getContentType());
+            long ocrStart = System.nanoTime();
             try {
-                text = tesseract.doOCR(image);
+                text = ocrEngines.withEngine(engine -> engine.doOCR(image));
+                metrics.record(ParseMetrics.STAGE_OCR_RECOGNIZE, "image", typeTag, System.nanoTime() - ocrStart, true);
             } catch (TesseractException e) {
+                metrics.record(ParseMetrics.STAGE_OCR_RECOGNIZE, "image", typeTag, System.nanoTime() - ocrStart, false);
+                metrics.failure(ParseMetrics.STAGE_OCR_RECOGNIZE, "image", typeTag, e);
                 text = "";
-                System.err.println("OCR failed: " + e.getMessage());
+                log.warn("OCR failed for {}: {}", file.getOriginalFilename(), e.getMessage());
             }
 
             // 🧾 Wrap text in structured JSON
@@ -117,7 +113,7 @@ public class ImageParser implements Parser {
             parsed.setMetadata(metadata);
 
         } catch (Exception e) {
-            System.err.println("Image parsing failed: " + e.getMessage());
+            log.warn("Image parsing failed for {}: {}", file.getOriginalFilename(), e.getMessage());
             throw e;
         }
 
@@ -0,0 +1,98 @@
+package com.exituity.documentparser.parser;
+
+import com.exituity.documentparser.model.CancellationToken;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * PageTextStripper — text-strips a set of PDF pages in one pass, handing each page's text over as it ends.
+ *
+ * Calling getText() once per page with setStartPage/setEndPage walks the page tree from the start
+ * every time, which is quadratic over a whole document; this covers the requested span once.
+ */
+final class PageTextStripper extends PDFTextStripper {
+
+    /**
+     * Receives one page's trimmed text, in page order.
+     */
+    @FunctionalInterface
+    interface PageHandler {
+        void page(int pageNumber, String text) throws IOException;
+    }
+
+    private final List<Integer> pages;
+    private final CancellationToken cancellation;
+    private final PageHandler handler;
+    private final StringWriter buffer = new StringWriter();
+
+    private int next;   // index of the next requested page to hand over
+    private boolean stopped;
+
+    /**
+     * @param pages 1-based page numbers in ascending order
+     */
+    PageTextStripper(List<Integer> pages, CancellationToken cancellation, PageHandler handler) throws IOException {
+        this.pages = pages;
+        this.cancellation = cancellation;
+        this.handler = handler;
+    }
+
+    /**
+     * Strips the requested pages. Pages without a content stream are handed over with empty text.
+     *
+     * @return false if the token was cancelled before every page was handed over
+     */
+    boolean strip(PDDocument document) throws IOException {
+        if (pages.isEmpty()) return true;
+
+        setStartPage(pages.get(0));
+        setEndPage(pages.get(pages.size() - 1));
+        writeText(document, buffer);
+
+        skipEmptyPagesBefore(Integer.MAX_VALUE);
+        return !stopped;
+    }
+
+    @Override
+    public void processPage(PDPage page) throws IOException {
+        int pageNumber = getCurrentPageNo();
+        skipEmptyPagesBefore(pageNumber);
+        if (stopped || next >= pages.size() || pages.get(next) != pageNumber) return;
+
+        if (cancellation.isCancelled()) {
+            stopped = true;
+            return;
+        }
+        buffer.getBuffer().setLength(0);
+        super.processPage(page);
+    }
+
+    @Override
+    protected void endPage(PDPage page) throws IOException {
+        super.endPage(page);
+        handOver(getCurrentPageNo(), buffer.toString().trim());
+    }
+
+    /**
+     * PDFBox never calls processPage for pages without contents; report requested ones as empty.
+     */
+    private void skipEmptyPagesBefore(int pageNumber) throws IOException {
+        while (!stopped && next < pages.size() && pages.get(next) < pageNumber) {
+            if (cancellation.isCancelled()) {
+                stopped = true;
+                return;
+            }
+            handOver(pages.get(next), "");
+        }
+    }
+
+    private void handOver(int pageNumber, String text) throws IOException {
+        next++;
+        handler.page(pageNumber, text);
+    }
+}
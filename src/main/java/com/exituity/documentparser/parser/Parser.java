@@ -1,20 +1,81 @@
 package com.exituity.documentparser.parser;
 
-import com.exituity.documentparser.model.ParsedDocument;
+import com.exituity.documentparser.model.ParseOptions;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Set;
+
 /**
  *  Parser Interface — contract for all document parsers.
  */
 public interface Parser {
 
+    /**
+     * Parsers built for one format family (PDF, Word, Excel, PowerPoint, images).
+     */
+    int PRIORITY_SPECIALISED = 100;
+
+    /**
+     * Parsers that read many formats generically, e.g. as plain text.
+     */
+    int PRIORITY_GENERIC = 0;
+
+    /**
+     * The catch-all parser.
+     */
+    int PRIORITY_FALLBACK = -100;
+
     /**
      * Determines if this parser can handle the given file.
      */
     boolean canParse(String contentType, String filename);
 
     /**
-     * Parses the file into a structured ParsedDocument.
+     * MIME types ParserFactory indexes this parser under (lower case, without parameters).
+     */
+    default Set<String> supportedTypes() {
+        return Set.of();
+    }
+
+    /**
+     * File extensions ParserFactory indexes this parser under (lower case, without the dot).
+     */
+    default Set<String> supportedExtensions() {
+        return Set.of();
+    }
+
+    /**
+     * Decides between parsers that claim the same type or extension; the higher value wins.
+     */
+    default int priority() {
+        return PRIORITY_GENERIC;
+    }
+
+    /**
+     * Whether this is the catch-all parser used when no other parser matches.
+     */
+    default boolean isFallback() {
+        return false;
+    }
+
+    /**
+     * Parses the file into a structured result (ParsedDocument, or PdfParsedData for PDFs).
+     */
+    Object parse(MultipartFile file) throws Exception;
+
+    /**
+     * Parses the file honouring the request options. Parsers that have no options to apply
+     * fall back to {@link #parse(MultipartFile)}.
+     */
+    default Object parse(MultipartFile file, ParseOptions options) throws Exception {
+        return parse(file);
+    }
+
+    /**
+     * Version of this parser's output; bump it when a change alters what parse returns,
+     * so cached results produced by the old logic are no longer used.
      */
-    ParsedDocument parse(MultipartFile file) throws Exception;
+    default String version() {
+        return "1";
+    }
 }
@@ -1,25 +1,53 @@
 package com.exituity.documentparser.parser;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  *  ParserFactory — Centralized registry for all available parsers.
  *
- * Dynamically selects the correct parser implementation (PDF, Excel, Image, etc.)
- * based on file type or file extension.
- *
- * Registered automatically by Spring since all parser implementations
- * are annotated with @Component.
+ * Built once at startup: every parser is indexed by the MIME types and extensions it declares,
+ * so a request resolves with two map lookups regardless of bean order. When two parsers claim
+ * the same key the higher priority wins. Requests that miss both indexes fall back to a
+ * canParse scan of the specialised parsers, and finally to the catch-all (Tika) parser.
  */
 @Component
 public class ParserFactory {
 
-    private final List<Parser> parsers;
+    private static final Logger log = LoggerFactory.getLogger(ParserFactory.class);
+
+    private final Map<String, Parser> byType = new HashMap<>();
+    private final Map<String, Parser> byExtension = new HashMap<>();
+    private final List<Parser> specialised;
+    private final Parser fallback;
 
     // Spring injects all Parser beans here
     public ParserFactory(List<Parser> parsers) {
-        this.parsers = parsers;
+        this.specialised = parsers.stream()
+                .filter(p -> !p.isFallback())
+                .sorted(Comparator.comparingInt(Parser::priority).reversed())
+                .toList();
+
+        // Highest priority first, so putIfAbsent keeps the winner of each key
+        for (Parser parser : specialised) {
+            parser.supportedTypes().forEach(type -> byType.putIfAbsent(normalizeType(type), parser));
+            parser.supportedExtensions().forEach(ext -> byExtension.putIfAbsent(ext.toLowerCase(Locale.ROOT), parser));
+        }
+
+        this.fallback = parsers.stream()
+                .filter(Parser::isFallback)
+                .max(Comparator.comparingInt(Parser::priority))
+                .orElse(null);
+
+        log.debug("Parser registry: {} MIME types, {} extensions, fallback {}", byType.size(), byExtension.size(),
+                fallback != null ? fallback.getClass().getSimpleName() : "none");
     }
 
     /**
@@ -28,23 +56,47 @@ public class ParserFactory {
      * @param contentType MIME type (e.g., application/pdf)
      * @param filename    Original uploaded filename
      * @return Matching Parser implementation
-     * @throws UnsupportedOperationException if no parser matches
+     * @throws UnsupportedOperationException if no parser matches and there is no fallback
      */
     public Parser getParser(String contentType, String filename) {
-        if (filename == null || filename.isBlank()) {
-            throw new IllegalArgumentException("Filename cannot be null or empty");
+        Parser parser = contentType != null ? byType.get(normalizeType(contentType)) : null;
+
+        if (parser == null) {
+            String extension = extension(filename);
+            if (extension != null) parser = byExtension.get(extension);
         }
 
-        for (Parser parser : parsers) {
-            try {
-                if (parser.canParse(contentType, filename)) {
-                    return parser;
+        if (parser == null) {
+            // Types the indexes don't list verbatim (e.g. macro-enabled Office variants)
+            for (Parser candidate : specialised) {
+                try {
+                    if (candidate.canParse(contentType, filename)) {
+                        parser = candidate;
+                        break;
+                    }
+                } catch (Exception e) {
+                    log.warn("Error checking parser {}: {}", candidate.getClass().getSimpleName(), e.getMessage());
                 }
-            } catch (Exception e) {
-                System.err.println("Error checking parser " + parser.getClass().getSimpleName() + ": " + e.getMessage());
             }
         }
 
-        throw new UnsupportedOperationException("Unsupported file type: " + filename + " (" + contentType + ")");
+        if (parser == null) parser = fallback;
+        if (parser == null) {
+            throw new UnsupportedOperationException("Unsupported file type: " + filename + " (" + contentType + ")");
+        }
+        return parser;
+    }
+
+    private static String normalizeType(String contentType) {
+        int params = contentType.indexOf(';');
+        String type = params >= 0 ? contentType.substring(0, params) : contentType;
+        return type.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String extension(String filename) {
+        if (filename == null) return null;
+        int dot = filename.lastIndexOf('.');
+        if (dot < 0 || dot == filename.length() - 1) return null;
+        return filename.substring(dot + 1).toLowerCase(Locale.ROOT);
     }
 }
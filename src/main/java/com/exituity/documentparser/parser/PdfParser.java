@@ -1,28 +1,55 @@
 package com.exituity.documentparser.parser;
 
+import com.exituity.documentparser.exception.ServiceUnavailableException;
+import com.exituity.documentparser.exception.TooManyRequestsException;
+import com.exituity.documentparser.metrics.ParseMetrics;
+import com.exituity.documentparser.model.CancellationToken;
 import com.exituity.documentparser.model.Metadata;
-import com.exituity.documentparser.model.ParsedDocument;
+import com.exituity.documentparser.model.ParseOptions;
+import com.exituity.documentparser.model.PdfParsedData;
+import com.exituity.documentparser.model.Table;
+import com.exituity.documentparser.ocr.OcrWorkerPool;
+import com.exituity.documentparser.service.AdmissionControl;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.pdfbox.rendering.PDFRenderer;
-import org.apache.pdfbox.rendering.ImageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
-import net.sourceforge.tess4j.Tesseract;
-import net.sourceforge.tess4j.TesseractException;
 
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.InputStream;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 /**
  *  PdfParser — Extracts text from PDF files (supports text and scanned images via OCR)
+ *  and tables via Tabula
  */
 @Component
-public class PdfParser implements Parser {
+public class PdfParser implements StreamingParser {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfParser.class);
+
+    static final String SOURCE_TEXT_LAYER = "text-layer";
+    static final String SOURCE_OCR = "ocr";
+
+    private static final String METRICS_PARSER = "pdf";
+    private static final String METRICS_TYPE = "application/pdf";
+
+    // Text-layer quality thresholds (see hasUsableTextLayer)
+    private static final int MIN_TEXT_LAYER_CHARS = 3;
+    private static final double MAX_GARBAGE_RATIO = 0.2;
+    private static final double MIN_ALPHANUMERIC_RATIO = 0.5;
+
+    private final OcrWorkerPool ocrWorkers;
+    private final PdfTableExtractor tableExtractor;
+    private final ParseMetrics metrics;
+
+    public PdfParser(OcrWorkerPool ocrWorkers, PdfTableExtractor tableExtractor, ParseMetrics metrics) {
+        this.ocrWorkers = ocrWorkers;
+        this.tableExtractor = tableExtractor;
+        this.metrics = metrics;
+    }
 
     @Override
     public boolean canParse(String contentType, String filename) {
@@ -31,108 +58,220 @@ public class PdfParser implements Parser {
     }
 
     @Override
-    public ParsedDocument parse(MultipartFile file) throws Exception {
-        ParsedDocument parsed = new ParsedDocument();
+    public Set<String> supportedTypes() {
+        return Set.of("application/pdf");
+    }
+
+    @Override
+    public Set<String> supportedExtensions() {
+        return Set.of("pdf");
+    }
+
+    @Override
+    public int priority() {
+        return PRIORITY_SPECIALISED;
+    }
 
-        try (InputStream is = file.getInputStream();
-             PDDocument document = PDDocument.load(is)) {
+    @Override
+    public PdfParsedData parse(MultipartFile file) throws Exception {
+        return parse(file, ParseOptions.defaults());
+    }
+
+    /**
+     * Extracts text page by page. Only the requested pages are text-stripped (or OCR'd),
+     * so the cost follows the pages asked for rather than the file size.
+     */
+    @Override
+    public PdfParsedData parse(MultipartFile file, ParseOptions options) throws Exception {
+        try (PDDocument document = UploadSources.loadPdf(file)) {
 
             int pageCount = document.getNumberOfPages();
-            String text;
+            List<Integer> pageNumbers = options.selectPages(pageCount);
+            options.getAdmission().capPages(pageNumbers.size());
+            List<String> issues = new ArrayList<>();
 
-            //  Extract text using PDFBox
-            PDFTextStripper stripper = new PDFTextStripper();
-            text = stripper.getText(document).trim();
+            if (options.getPages() != null && pageNumbers.isEmpty()) {
+                issues.add("No pages in range " + options.getPages() + " (document has " + pageCount + " pages)");
+            }
+
+            //  Extract text per page using PDFBox, in one pass over the requested pages
+            CancellationToken cancellation = options.getCancellation();
+            List<PdfParsedData.Page> pages = new ArrayList<>();
+            List<PdfParsedData.Page> scannedPages = new ArrayList<>();
 
-            //  Fallback to OCR if PDF is scanned (no text found)
-            if (text.isBlank()) {
-                System.out.println("⚙️ No embedded text found — using OCR mode...");
-                text = extractTextWithOcr(document);
+            long textStart = System.nanoTime();
+            boolean complete = new PageTextStripper(pageNumbers, cancellation, (pageNumber, text) -> {
+                PdfParsedData.Page page = new PdfParsedData.Page(pageNumber, text, new ArrayList<>(), SOURCE_TEXT_LAYER);
+                pages.add(page);
+                if (!hasUsableTextLayer(text)) scannedPages.add(page);
+            }).strip(document);
+            if (!complete) {
+                issues.add("Stopped after " + pages.size() + " of " + pageNumbers.size()
+                        + " pages: " + cancellation.reason());
             }
+            metrics.record(ParseMetrics.STAGE_TEXT, METRICS_PARSER, METRICS_TYPE, System.nanoTime() - textStart, true);
 
-            //  Prepare structured JSON (page-based text)
-            Map<String, Object> pageObj = new LinkedHashMap<>();
-            pageObj.put("pageNumber", 1);
-            pageObj.put("text", text);
-            pageObj.put("tables", Collections.emptyList());
-
-            Map<String, Object> textWrapper = new LinkedHashMap<>();
-            textWrapper.put("pages", Collections.singletonList(pageObj));
-
-            //  Metadata
-            Metadata metadata = new Metadata(
-                    file.getOriginalFilename(),
-                    file.getContentType(),
-                    file.getSize(),
-                    pageCount,
-                    0.95,
-                    "PDFBox + OCR",
-                    DateTimeFormatter.ISO_INSTANT.format(Instant.now())
-            );
+            //  OCR only the pages with a missing or garbage text layer
+            if (!scannedPages.isEmpty()) {
+                log.debug("{} page(s) of {} without a usable text layer, using OCR", scannedPages.size(), file.getOriginalFilename());
+                List<Integer> scannedNumbers = scannedPages.stream().map(PdfParsedData.Page::getPageNumber).toList();
+                List<String> ocrText = extractTextWithOcr(document, scannedNumbers, options);
+                boolean ocrStopped = cancellation.isCancelled();
+                if (ocrStopped) issues.add("OCR stopped early: " + cancellation.reason());
 
-            parsed.setText(textWrapper);
-            parsed.setTables(Collections.emptyList());
-            parsed.setMetadata(metadata);
+                for (int i = 0; i < scannedPages.size(); i++) {
+                    if (ocrText.get(i).isBlank()) {
+                        if (!ocrStopped) issues.add("OCR produced no text for page " + scannedNumbers.get(i));
+                        continue;
+                    }
+                    scannedPages.get(i).setText(ocrText.get(i));
+                    scannedPages.get(i).setSource(SOURCE_OCR);
+                }
+            }
+
+            //  Detect tables per page with Tabula (pages run in parallel)
+            List<Table> allTables = new ArrayList<>();
+            List<Integer> parsedNumbers = pages.stream().map(PdfParsedData.Page::getPageNumber).toList();
+            if (options.isExtractTables() && cancellation.isCancelled()) {
+                issues.add("Table extraction skipped: " + cancellation.reason());
+            } else if (options.isExtractTables() && !parsedNumbers.isEmpty()) {
+                List<List<Table>> pageTables = metrics.time(ParseMetrics.STAGE_TABLES, METRICS_PARSER, METRICS_TYPE,
+                        () -> tableExtractor.extract(document, parsedNumbers, issues, cancellation));
+                for (int i = 0; i < pages.size(); i++) {
+                    pages.get(i).setTables(pageTables.get(i));
+                    allTables.addAll(pageTables.get(i));
+                }
+            }
+
+            return new PdfParsedData(
+                    new PdfParsedData.PdfText(pages),
+                    allTables,
+                    buildMetadata(file, pageCount),
+                    null,
+                    issues
+            );
 
         } catch (Exception e) {
-            System.err.println("❌ PDF parsing failed: " + e.getMessage());
+            log.warn("PDF parsing failed for {}: {}", file.getOriginalFilename(), e.getMessage());
             throw e;
         }
-
-        return parsed;
     }
 
     /**
-     * OCR fallback for image-based PDFs using Tesseract.
+     * Streams one "page" event per requested page as the single text pass reaches it. Pages without
+     * a usable text layer are OCR'd individually, so nothing beyond the current page is held in memory.
      */
-    private String extractTextWithOcr(PDDocument document) {
-        StringBuilder ocrText = new StringBuilder();
-        Tesseract tesseract = new Tesseract();
-        tesseract.setLanguage("eng");
-
-        //  Auto-detect Tesseract path (Windows / Mac / Linux)
-        try {
-            String os = System.getProperty("os.name").toLowerCase();
-            File tessPath;
-
-            if (os.contains("win")) {
-                tessPath = new File("C:\\Program Files\\Tesseract-OCR\\tessdata");
-                if (!tessPath.exists()) {
-                    tessPath = new File("C:\\Users\\" + System.getProperty("user.name") + "\\Tesseract-OCR\\tessdata");
+    @Override
+    public void stream(MultipartFile file, ParseOptions options, DocumentSink sink) throws Exception {
+        try (PDDocument document = UploadSources.loadPdf(file)) {
+
+            int pageCount = document.getNumberOfPages();
+            List<Integer> pageNumbers = options.selectPages(pageCount);
+            options.getAdmission().capPages(pageNumbers.size());
+            CancellationToken cancellation = options.getCancellation();
+            int[] emitted = {0};
+
+            boolean complete = new PageTextStripper(pageNumbers, cancellation, (page, text) -> {
+                String source = SOURCE_TEXT_LAYER;
+
+                if (!hasUsableTextLayer(text)) {
+                    String ocrText = extractTextWithOcr(document, List.of(page), options).get(0);
+                    if (!ocrText.isBlank()) {
+                        text = ocrText;
+                        source = SOURCE_OCR;
+                    }
                 }
-            } else if (os.contains("mac")) {
-                tessPath = new File("/usr/local/share/tessdata");
-            } else {
-                tessPath = new File("/usr/share/tesseract-ocr/4.00/tessdata");
-            }
 
-            if (tessPath.exists()) {
-                tesseract.setDatapath(tessPath.getAbsolutePath());
-                System.out.println("✅ Using Tesseract datapath: " + tessPath);
-            } else {
-                System.err.println("⚠️ Warning: Tesseract datapath not found. OCR may fail.");
+                Map<String, Object> pageObj = new LinkedHashMap<>();
+                pageObj.put("pageNumber", page);
+                pageObj.put("text", text);
+                pageObj.put("source", source);
+                if (options.isExtractTables()) {
+                    pageObj.put("tables", tableExtractor.extractPage(document, page));
+                }
+                sink.emit("page", pageObj);
+                emitted[0]++;
+            }).strip(document);
+
+            if (!complete) {
+                throw new CancellationException("Stopped after " + emitted[0] + " of " + pageNumbers.size()
+                        + " pages: " + cancellation.reason());
             }
 
-        } catch (Exception e) {
-            System.err.println("⚠️ Failed to set Tesseract path: " + e.getMessage());
+            sink.emit("metadata", Map.of("metadata", buildMetadata(file, pageCount)));
         }
+    }
 
-        try {
-            PDFRenderer renderer = new PDFRenderer(document);
-            for (int i = 0; i < document.getNumberOfPages(); i++) {
-                BufferedImage image = renderer.renderImageWithDPI(i, 300, ImageType.RGB);
-                try {
-                    String result = tesseract.doOCR(image);
-                    ocrText.append("\n=== OCR Page ").append(i + 1).append(" ===\n")
-                           .append(result.trim()).append("\n");
-                } catch (TesseractException e) {
-                    System.err.println("⚠️ OCR failed on page " + (i + 1) + ": " + e.getMessage());
-                }
+    @Override
+    public String version() {
+        return "4";
+    }
+
+    /**
+     * A page needs OCR when its text layer is empty or mostly garbage — replacement or control
+     * characters from broken font encodings, or too few letters and digits to be real text.
+     */
+    static boolean hasUsableTextLayer(String text) {
+        if (text == null || text.isBlank()) return false;
+
+        int visible = 0;
+        int alphanumeric = 0;
+        int garbage = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+
+            visible++;
+            if (Character.isLetterOrDigit(c)) {
+                alphanumeric++;
+            } else if (c == '\uFFFD' || Character.isISOControl(c)
+                    || Character.getType(c) == Character.PRIVATE_USE) {
+                garbage++;
             }
-        } catch (Exception e) {
-            System.err.println("⚠️ OCR extraction error: " + e.getMessage());
         }
 
-        return ocrText.toString().trim();
+        if (visible < MIN_TEXT_LAYER_CHARS) return false;
+        return garbage <= visible * MAX_GARBAGE_RATIO && alphanumeric >= visible * MIN_ALPHANUMERIC_RATIO;
+    }
+
+    private Metadata buildMetadata(MultipartFile file, int pageCount) {
+        return new Metadata(
+                file.getOriginalFilename(),
+                file.getContentType(),
+                file.getSize(),
+                pageCount,
+                0.95,
+                "PDFBox + OCR",
+                DateTimeFormatter.ISO_INSTANT.format(Instant.now())
+        );
+    }
+
+    /**
+     * OCR fallback for image-based PDFs — pages are recognized in parallel on the shared OCR workers,
+     * once the ocr admission class has room for them.
+     *
+     * @param pageNumbers 1-based pages to OCR
+     * @return recognized text per page, in the same order (empty where OCR failed)
+     * @throws ServiceUnavailableException if OCR capacity or an engine stayed busy past its timeout
+     * @throws TooManyRequestsException    if too many OCR requests are already queued
+     */
+    private List<String> extractTextWithOcr(PDDocument document, List<Integer> pageNumbers, ParseOptions options) {
+        List<Integer> pageIndexes = new ArrayList<>();
+        for (int pageNumber : pageNumbers) {
+            pageIndexes.add(pageNumber - 1);
+        }
+
+        try (AdmissionControl.Permit ocr = options.getAdmission().admitOcr(pageNumbers.size())) {
+            return ocrWorkers.recognizePages(document, pageIndexes, options.getCancellation());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("OCR extraction interrupted");
+        } catch (ServiceUnavailableException | TooManyRequestsException e) {
+            throw e; // no OCR capacity: 503/429 rather than blank pages
+        } catch (Exception e) {
+            log.warn("OCR extraction error: {}", e.getMessage());
+        }
+        return new ArrayList<>(Collections.nCopies(pageNumbers.size(), ""));
     }
 }
@@ -0,0 +1,202 @@
+package com.exituity.documentparser.parser;
+
+import com.exituity.documentparser.model.CancellationToken;
+import com.exituity.documentparser.model.Table;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import technology.tabula.ObjectExtractor;
+import technology.tabula.RectangularTextContainer;
+import technology.tabula.extractors.BasicExtractionAlgorithm;
+import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  PdfTableExtractor — detects and extracts tables from PDF pages with Tabula.
+ *
+ * Ruled tables are read with the lattice (spreadsheet) algorithm; pages without ruling lines
+ * that still look tabular fall back to the stream (basic) algorithm. Pages are pulled out of the
+ * shared PDDocument one at a time (PDFBox is not thread-safe), and the algorithms then run in
+ * parallel on the extracted page models.
+ */
+@Component
+public class PdfTableExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfTableExtractor.class);
+
+    private static final double LATTICE_CONFIDENCE = 0.90;
+    private static final double STREAM_CONFIDENCE = 0.70;
+
+    private final ExecutorService workers;
+    private final int perRequestLimit;
+
+    public PdfTableExtractor(@Value("${parser.pdf.tables.threads:0}") int threads,
+                             @Value("${parser.pdf.tables.per-request:4}") int perRequestLimit) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger(1);
+        this.workers = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "pdf-tables-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.perRequestLimit = Math.max(1, perRequestLimit);
+    }
+
+    /**
+     * Extracts tables from the given pages in parallel.
+     *
+     * @param pageNumbers 1-based pages
+     * @param issues       receives a note for every page whose tables could not be extracted
+     * @param cancellation checked before each page; pages after it fires get no tables
+     * @return tables per requested page, in the same order
+     */
+    public List<List<Table>> extract(PDDocument document, List<Integer> pageNumbers, List<String> issues,
+                                     CancellationToken cancellation) throws InterruptedException {
+        ObjectExtractor extractor = newExtractor(document, issues);
+        if (extractor == null) {
+            List<List<Table>> empty = new ArrayList<>();
+            pageNumbers.forEach(pageNumber -> empty.add(new ArrayList<>()));
+            return empty;
+        }
+
+        Semaphore inFlight = new Semaphore(perRequestLimit);
+        List<Future<List<Table>>> futures = new ArrayList<>(pageNumbers.size());
+
+        try {
+            boolean stopped = false;
+            for (int pageNumber : pageNumbers) {
+                if (stopped || cancellation.isCancelled()) {
+                    if (!stopped) issues.add("Table extraction stopped at page " + pageNumber + ": " + cancellation.reason());
+                    stopped = true;
+                    futures.add(null);
+                    continue;
+                }
+
+                // Also bounds how many extracted page models this request holds at once
+                inFlight.acquire();
+
+                technology.tabula.Page page;
+                try {
+                    page = extractor.extract(pageNumber);
+                } catch (Exception e) {
+                    inFlight.release();
+                    issues.add("Table extraction failed on page " + pageNumber + ": " + e.getMessage());
+                    futures.add(null);
+                    continue;
+                }
+
+                futures.add(workers.submit(() -> {
+                    try {
+                        return detectTables(page, pageNumber);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            List<List<Table>> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), pageNumbers.get(i), issues));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            futures.forEach(f -> {
+                if (f != null) f.cancel(true);
+            });
+            throw e;
+        }
+    }
+
+    /**
+     * Extracts tables from a single page on the calling thread (used by the streaming mode).
+     */
+    public List<Table> extractPage(PDDocument document, int pageNumber) {
+        try {
+            return detectTables(new ObjectExtractor(document).extract(pageNumber), pageNumber);
+        } catch (Exception e) {
+            log.warn("Table extraction failed on page {}: {}", pageNumber, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Not closed afterwards: ObjectExtractor.close() would close the caller's document
+    private ObjectExtractor newExtractor(PDDocument document, List<String> issues) {
+        try {
+            return new ObjectExtractor(document);
+        } catch (Exception e) {
+            issues.add("Table extraction unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private List<Table> detectTables(technology.tabula.Page page, int pageNumber) {
+        SpreadsheetExtractionAlgorithm lattice = new SpreadsheetExtractionAlgorithm();
+        List<? extends technology.tabula.Table> found = lattice.extract(page);
+        double confidence = LATTICE_CONFIDENCE;
+
+        if (found.isEmpty()) {
+            if (!lattice.isTabular(page)) return new ArrayList<>();
+            found = new BasicExtractionAlgorithm().extract(page);
+            confidence = STREAM_CONFIDENCE;
+        }
+
+        List<Table> tables = new ArrayList<>();
+        for (technology.tabula.Table source : found) {
+            Table table = toTable(source, confidence);
+            if (table != null) {
+                table.setTableName("Page " + pageNumber + " Table " + (tables.size() + 1));
+                tables.add(table);
+            }
+        }
+        return tables;
+    }
+
+    private Table toTable(technology.tabula.Table source, double confidence) {
+        List<List<String>> rows = new ArrayList<>();
+
+        for (List<RectangularTextContainer> sourceRow : source.getRows()) {
+            List<String> cells = new ArrayList<>();
+            for (RectangularTextContainer cell : sourceRow) {
+                cells.add(cell.getText().trim());
+            }
+            if (cells.stream().anyMatch(v -> !v.isBlank())) {
+                rows.add(cells);
+            }
+        }
+
+        if (rows.isEmpty()) return null;
+
+        Table table = new Table();
+        table.setHeaders(rows.remove(0));
+        table.setRows(rows);
+        table.setStructuredRows(new ArrayList<>());
+        table.setConfidenceScore(confidence);
+        return table;
+    }
+
+    private List<Table> await(Future<List<Table>> future, int pageNumber, List<String> issues) throws InterruptedException {
+        if (future == null) return new ArrayList<>();
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            issues.add("Table extraction failed on page " + pageNumber + ": " + e.getCause().getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
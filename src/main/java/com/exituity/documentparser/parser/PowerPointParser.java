@@ -1,6 +1,8 @@
 package com.exituity.documentparser.parser;
 
+import com.exituity.documentparser.model.CancellationToken;
 import com.exituity.documentparser.model.Metadata;
+import com.exituity.documentparser.model.ParseOptions;
 import com.exituity.documentparser.model.ParsedDocument;
 import org.apache.poi.hslf.usermodel.HSLFSlide;
 import org.apache.poi.hslf.usermodel.HSLFSlideShow;
@@ -11,13 +13,16 @@ import org.apache.poi.xslf.usermodel.XSLFTextShape;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
+import java.io.IOException;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 @Component
-public class PowerPointParser implements Parser {
+public class PowerPointParser implements StreamingParser {
+
+    private static final String PPTX_TYPE = "application/vnd.openxmlformats-officedocument.presentationml.presentation";
 
     @Override
     public boolean canParse(String contentType, String filename) {
@@ -28,78 +33,44 @@ public class PowerPointParser implements Parser {
     }
 
     @Override
-    public ParsedDocument parse(MultipartFile file) throws Exception {
-        ParsedDocument parsed = new ParsedDocument();
-        List<Map<String, Object>> slidesList = new ArrayList<>();
-
-        try (InputStream is = file.getInputStream()) {
-            // Handle modern PPTX format
-            if (file.getOriginalFilename().toLowerCase().endsWith(".pptx")) {
-                try (XMLSlideShow pptx = new XMLSlideShow(is)) {
-                    int slideNum = 1;
-                    for (XSLFSlide slide : pptx.getSlides()) {
-                        List<String> texts = new ArrayList<>();
-
-                        for (XSLFShape shape : slide.getShapes()) {
-                            if (shape instanceof XSLFTextShape textShape) {
-                                String text = textShape.getText().trim();
-                                if (!text.isEmpty()) texts.add(text);
-                            }
-                        }
-
-                        Map<String, Object> slideData = new LinkedHashMap<>();
-                        slideData.put("slideNumber", slideNum++);
-                        slideData.put("text", String.join("\n", texts));
-                        slidesList.add(slideData);
-                    }
+    public Set<String> supportedTypes() {
+        return Set.of(
+                PPTX_TYPE, // .pptx
+                "application/vnd.ms-powerpoint" // .ppt
+        );
+    }
 
-                    parsed.setMetadata(new Metadata(
-                            file.getOriginalFilename(),
-                            file.getContentType(),
-                            file.getSize(),
-                            pptx.getSlides().size(),
-                            0.93,
-                            "Apache POI (XSLF)",
-                            DateTimeFormatter.ISO_INSTANT.format(Instant.now())
-                    ));
-                }
-            }
-            // Handle legacy PPT format
-            else {
-                try (HSLFSlideShow ppt = new HSLFSlideShow(is)) {
-                    int slideNum = 1;
-                    for (HSLFSlide slide : ppt.getSlides()) {
-                        StringBuilder sb = new StringBuilder();
-                        if (slide.getTitle() != null) {
-                            sb.append(slide.getTitle()).append("\n");
-                        }
+    @Override
+    public Set<String> supportedExtensions() {
+        return Set.of("pptx", "ppt");
+    }
 
-                        // Extract text paragraphs (safe for all POI versions)
-                        for (List<?> paragraphGroup : slide.getTextParagraphs()) {
-                            for (Object paragraph : paragraphGroup) {
-                                String textPart = paragraph.toString().trim();
-                                if (!textPart.isEmpty()) {
-                                    sb.append(textPart).append("\n");
-                                }
-                            }
-                        }
+    @Override
+    public int priority() {
+        return PRIORITY_SPECIALISED;
+    }
 
-                        Map<String, Object> slideData = new LinkedHashMap<>();
-                        slideData.put("slideNumber", slideNum++);
-                        slideData.put("text", sb.toString().trim());
-                        slidesList.add(slideData);
-                    }
+    @Override
+    public ParsedDocument parse(MultipartFile file) throws Exception {
+        return parse(file, ParseOptions.defaults());
+    }
 
-                    parsed.setMetadata(new Metadata(
-                            file.getOriginalFilename(),
-                            file.getContentType(),
-                            file.getSize(),
-                            ppt.getSlides().size(),
-                            0.90,
-                            "Apache POI (HSLF)",
-                            DateTimeFormatter.ISO_INSTANT.format(Instant.now())
-                    ));
-                }
+    /**
+     * Reads slides until the request is cancelled; the slides read so far are returned
+     * with an issue noting where it stopped.
+     */
+    @Override
+    public ParsedDocument parse(MultipartFile file, ParseOptions options) throws Exception {
+        ParsedDocument parsed = new ParsedDocument();
+        List<Map<String, Object>> slidesList = new ArrayList<>();
+        CancellationToken cancellation = options.getCancellation();
+
+        try {
+            Metadata metadata = readSlides(file, slidesList::add, cancellation);
+            parsed.setMetadata(metadata);
+            if (slidesList.size() < metadata.getPageCount()) {
+                parsed.setIssues(List.of("Stopped after " + slidesList.size() + " of " + metadata.getPageCount()
+                        + " slides: " + cancellation.reason()));
             }
 
             // Wrap slides in structured JSON
@@ -115,4 +86,104 @@ public class PowerPointParser implements Parser {
 
         return parsed;
     }
+
+    /**
+     * Streams one "slide" event per slide as it is read.
+     */
+    @Override
+    public void stream(MultipartFile file, ParseOptions options, DocumentSink sink) throws Exception {
+        CancellationToken cancellation = options.getCancellation();
+        Metadata metadata = readSlides(file, slideData -> sink.emit("slide", slideData), cancellation);
+        if (cancellation.isCancelled()) {
+            throw new CancellationException("PowerPoint streaming stopped: " + cancellation.reason());
+        }
+        sink.emit("metadata", Map.of("metadata", metadata));
+    }
+
+    /**
+     * Receives each slide's data as soon as it is extracted.
+     */
+    @FunctionalInterface
+    private interface SlideConsumer {
+        void accept(Map<String, Object> slideData) throws IOException;
+    }
+
+    private Metadata readSlides(MultipartFile file, SlideConsumer consumer, CancellationToken cancellation) throws Exception {
+        // Handle modern PPTX format
+        if (isPptx(file)) {
+            return UploadSources.readOoxml(file, XMLSlideShow::new, pptx -> {
+                int slideNum = 1;
+                for (XSLFSlide slide : pptx.getSlides()) {
+                    if (cancellation.isCancelled()) break;
+                    List<String> texts = new ArrayList<>();
+
+                    for (XSLFShape shape : slide.getShapes()) {
+                        if (shape instanceof XSLFTextShape textShape) {
+                            String text = textShape.getText().trim();
+                            if (!text.isEmpty()) texts.add(text);
+                        }
+                    }
+
+                    consumer.accept(slideData(slideNum++, String.join("\n", texts)));
+                }
+
+                return new Metadata(
+                        file.getOriginalFilename(),
+                        file.getContentType(),
+                        file.getSize(),
+                        pptx.getSlides().size(),
+                        0.93,
+                        "Apache POI (XSLF)",
+                        DateTimeFormatter.ISO_INSTANT.format(Instant.now())
+                );
+            });
+        }
+        // Handle legacy PPT format
+        else {
+            try (HSLFSlideShow ppt = new HSLFSlideShow(UploadSources.openOle2(file))) {
+                int slideNum = 1;
+                for (HSLFSlide slide : ppt.getSlides()) {
+                    if (cancellation.isCancelled()) break;
+                    StringBuilder sb = new StringBuilder();
+                    if (slide.getTitle() != null) {
+                        sb.append(slide.getTitle()).append("\n");
+                    }
+
+                    // Extract text paragraphs (safe for all POI versions)
+                    for (List<?> paragraphGroup : slide.getTextParagraphs()) {
+                        for (Object paragraph : paragraphGroup) {
+                            String textPart = paragraph.toString().trim();
+                            if (!textPart.isEmpty()) {
+                                sb.append(textPart).append("\n");
+                            }
+                        }
+                    }
+
+                    consumer.accept(slideData(slideNum++, sb.toString().trim()));
+                }
+
+                return new Metadata(
+                        file.getOriginalFilename(),
+                        file.getContentType(),
+                        file.getSize(),
+                        ppt.getSlides().size(),
+                        0.90,
+                        "Apache POI (HSLF)",
+                        DateTimeFormatter.ISO_INSTANT.format(Instant.now())
+                );
+            }
+        }
+    }
+
+    private boolean isPptx(MultipartFile file) {
+        if (file.getContentType() != null && PPTX_TYPE.equalsIgnoreCase(file.getContentType())) return true;
+        return file.getOriginalFilename() != null && file.getOriginalFilename().toLowerCase().endsWith(".pptx");
+    }
+
+    private Map<String, Object> slideData(int slideNumber, String text) {
+        Map<String, Object> slideData = new LinkedHashMap<>();
+        slideData.put("slideNumber", slideNumber);
+        slideData.put("text", text);
+        return slideData;
+    }
 }
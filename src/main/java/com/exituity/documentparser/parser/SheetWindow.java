@@ -0,0 +1,167 @@
+package com.exituity.documentparser.parser;
+
+import com.exituity.documentparser.model.ParseOptions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * SheetWindow — applies a request's sheet, column and row selection in front of another
+ * SheetRowHandler, for both the SAX reader and the workbook (DOM) reader.
+ *
+ * The first non-blank row of a sheet is its header row; requested columns are resolved against
+ * it, after which readers ask {@link #wantsColumn} before converting a cell and
+ * {@link #sheetDone} before reading another row, so unselected sheets, cells and rows past the
+ * window are never rendered. Row offset and limit count non-blank data rows.
+ */
+final class SheetWindow implements XlsxStreamingReader.SheetRowHandler {
+
+    private final ParseOptions options;
+    private final XlsxStreamingReader.SheetRowHandler delegate;
+    private final List<String> issues = new ArrayList<>();
+    private final Set<String> matchedSheets = new HashSet<>();
+
+    private String sheetName;
+    private boolean headerSeen;
+    private int[] columns;      // 0-based, in output order; null = all columns
+    private BitSet wanted;
+    private int dataRows;
+
+    SheetWindow(ParseOptions options, XlsxStreamingReader.SheetRowHandler delegate) {
+        this.options = options;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean wantsSheet(String name, int position) {
+        if (options.getSheets() == null) return true;
+        boolean wanted = false;
+        for (String sheet : options.getSheets()) {
+            if (sheet.equalsIgnoreCase(name) || sheet.equals(String.valueOf(position))) {
+                matchedSheets.add(sheet);
+                wanted = true;
+            }
+        }
+        return wanted;
+    }
+
+    @Override
+    public void startSheet(String name) {
+        sheetName = name;
+        headerSeen = false;
+        columns = null;
+        wanted = null;
+        dataRows = 0;
+        delegate.startSheet(name);
+    }
+
+    /**
+     * Every column of the header row is wanted, since requested names are resolved against it.
+     */
+    @Override
+    public boolean wantsColumn(int column) {
+        return wanted == null || wanted.get(column);
+    }
+
+    @Override
+    public boolean wantsValues() {
+        return delegate.wantsValues();
+    }
+
+    /**
+     * Passes the row on projected to the requested columns, unless it falls before the offset.
+     */
+    @Override
+    public void row(List<String> cells, List<Object> values) throws IOException {
+        if (!accept(cells)) return;
+        delegate.row(project(cells, ""), values != null ? project(values, null) : null);
+    }
+
+    @Override
+    public void endSheet(String name) {
+        delegate.endSheet(name);
+    }
+
+    @Override
+    public boolean stopRequested() {
+        return delegate.stopRequested();
+    }
+
+    @Override
+    public boolean sheetDone() {
+        if (!headerSeen) return false;
+        if (options.isHeaderOnly()) return true;
+        return options.getRowLimit() != null && dataRows >= options.getRowOffset() + options.getRowLimit();
+    }
+
+    // Rows arrive positional, with unwanted columns left blank; false = before the offset
+    private boolean accept(List<String> cells) {
+        if (!headerSeen) {
+            headerSeen = true;
+            resolveColumns(cells);
+            return true;
+        }
+        return dataRows++ >= options.getRowOffset();
+    }
+
+    /**
+     * Requested sheets and columns that nothing matched, for ParsedDocument.issues. Sheets are
+     * only reported once the whole workbook has been offered, i.e. not after a stopped read.
+     */
+    List<String> getIssues() {
+        if (options.getSheets() == null || stopRequested()) return issues;
+
+        List<String> all = new ArrayList<>(issues);
+        for (String sheet : options.getSheets()) {
+            if (!matchedSheets.contains(sheet)) all.add("Sheet '" + sheet + "' not found");
+        }
+        return all;
+    }
+
+    private void resolveColumns(List<String> header) {
+        if (options.getColumns() == null) return;
+
+        List<Integer> resolved = new ArrayList<>();
+        for (String requested : options.getColumns()) {
+            int index = columnIndex(requested, header);
+            if (index < 0) {
+                issues.add("Column '" + requested + "' not found in sheet '" + sheetName + "'");
+            } else {
+                resolved.add(index);
+            }
+        }
+
+        columns = resolved.stream().mapToInt(Integer::intValue).toArray();
+        wanted = new BitSet();
+        for (int column : columns) wanted.set(column);
+    }
+
+    private static int columnIndex(String requested, List<String> header) {
+        String name = requested.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().toLowerCase(Locale.ROOT).equals(name)) return i;
+        }
+        // Not a header name: a 1-based column number
+        try {
+            int number = Integer.parseInt(name);
+            return number >= 1 ? number - 1 : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private <T> List<T> project(List<T> cells, T blank) {
+        if (columns == null) return cells;
+
+        List<T> projected = new ArrayList<>(columns.length);
+        for (int column : columns) {
+            projected.add(column < cells.size() ? cells.get(column) : blank);
+        }
+        return projected;
+    }
+}
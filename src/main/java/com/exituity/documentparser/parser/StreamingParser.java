@@ -0,0 +1,17 @@
+package com.exituity.documentparser.parser;
+
+import com.exituity.documentparser.model.ParseOptions;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ *  StreamingParser — a Parser that can also hand out its content while extracting it,
+ *  so callers never hold the whole result in memory.
+ */
+public interface StreamingParser extends Parser {
+
+    /**
+     * Parses the file, emitting pages/rows/slides to the sink as they are extracted,
+     * followed by a final "metadata" event.
+     */
+    void stream(MultipartFile file, ParseOptions options, DocumentSink sink) throws Exception;
+}
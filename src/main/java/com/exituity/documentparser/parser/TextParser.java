@@ -1,27 +1,74 @@
 package com.exituity.documentparser.parser;
 
+import com.exituity.documentparser.model.CancellationToken;
 import com.exituity.documentparser.model.Metadata;
+import com.exituity.documentparser.model.ParseOptions;
 import com.exituity.documentparser.model.ParsedDocument;
+import com.exituity.documentparser.model.Table;
+import com.exituity.documentparser.upload.SpooledFile;
+import org.apache.tika.parser.txt.CharsetDetector;
+import org.apache.tika.parser.txt.CharsetMatch;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
-import java.util.Collections;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.CancellationException;
 
+/**
+ * TextParser — plain text, logs and CSV.
+ *
+ * The file is decoded in fixed-size chunks through an NIO channel, in the charset found from
+ * its BOM, the declared Content-Type charset or the content itself. parse keeps at most
+ * parser.text.max-chars of text and parser.text.csv.max-rows CSV rows (anything cut is noted in
+ * issues); stream has no size limit, since each chunk or CSV row is emitted as soon as it is read.
+ */
 @Component
-public class TextParser implements Parser {
+public class TextParser implements StreamingParser {
 
     private static final Set<String> TEXT_TYPES = Set.of(
             "text/plain", "text/csv", "text/html",
             "application/xml", "application/json", "text/markdown"
     );
 
+    // Enough content for the detector to tell single-byte encodings apart
+    private static final int DETECT_BYTES = 64 * 1024;
+    private static final int MIN_DETECT_CONFIDENCE = 50;
+
+    private final int chunkBytes;
+    private final long maxChars;
+    private final boolean csvTables;
+    private final int csvMaxRows;
+    private final int csvMaxRowChars;
+
+    public TextParser(@Value("${parser.text.chunk-size:64KB}") DataSize chunkSize,
+                      @Value("${parser.text.max-chars:10000000}") long maxChars,
+                      @Value("${parser.text.csv.tables:true}") boolean csvTables,
+                      @Value("${parser.text.csv.max-rows:100000}") int csvMaxRows,
+                      @Value("${parser.text.csv.max-row-chars:1000000}") int csvMaxRowChars) {
+        this.chunkBytes = (int) Math.max(4, chunkSize.toBytes());
+        this.maxChars = maxChars;
+        this.csvTables = csvTables;
+        this.csvMaxRows = csvMaxRows;
+        this.csvMaxRowChars = csvMaxRowChars;
+    }
+
     @Override
     public boolean canParse(String contentType, String filename) {
         if (contentType != null && TEXT_TYPES.contains(contentType.toLowerCase())) return true;
@@ -35,37 +82,269 @@ public class TextParser implements Parser {
         return false;
     }
 
+    @Override
+    public Set<String> supportedTypes() {
+        return TEXT_TYPES;
+    }
+
+    @Override
+    public Set<String> supportedExtensions() {
+        return Set.of("txt", "csv", "log", "html", "xml", "json", "md");
+    }
+
+    @Override
+    public int priority() {
+        return PRIORITY_GENERIC;
+    }
+
+    // Text is no longer line-joined (line endings are kept) and CSV uploads carry a table
+    @Override
+    public String version() {
+        return "2";
+    }
+
     @Override
     public ParsedDocument parse(MultipartFile file) throws Exception {
+        return parse(file, ParseOptions.defaults());
+    }
+
+    @Override
+    public ParsedDocument parse(MultipartFile file, ParseOptions options) throws Exception {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty or invalid");
+        }
+
+        Charset charset = detectCharset(file);
+        CancellationToken cancellation = options.getCancellation();
+        List<String> issues = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        boolean[] truncated = {false};
+
+        List<List<String>> rows = new ArrayList<>();
+        long[] csvRows = {0};
+        CsvRowParser csv = csvTables && isCsv(file)
+                ? new CsvRowParser(',', csvMaxRowChars, cells -> {
+                    // header row plus up to csvMaxRows data rows are kept; the rest are only counted
+                    if (csvRows[0]++ <= csvMaxRows) rows.add(cells);
+                })
+                : null;
+
+        boolean complete = decode(file, charset, chars -> {
+            if (cancellation.isCancelled()) {
+                issues.add("Stopped after " + text.length() + " characters: " + cancellation.reason());
+                return false;
+            }
+            int room = (int) Math.min(chars.remaining(), maxChars - text.length());
+            text.append(chars, 0, room); // CharBuffer indexes are relative to its position
+            if (room < chars.remaining() && !truncated[0]) {
+                truncated[0] = true;
+                issues.add("Text truncated at " + maxChars + " characters");
+            }
+            if (csv != null) {
+                csv.feed(chars);
+            } else if (truncated[0]) {
+                return false; // nothing left to collect
+            }
+            return true;
+        });
+        if (csv != null && complete) csv.finish();
+
+        List<Table> tables = new ArrayList<>();
+        if (csv != null && !rows.isEmpty()) {
+            tables.add(toTable(rows));
+            if (csvRows[0] - 1 > csvMaxRows) {
+                issues.add("CSV table limited to " + csvMaxRows + " of " + (csvRows[0] - 1) + " rows");
+            }
+        }
+
+        ParsedDocument parsed = new ParsedDocument();
+        parsed.setText(text.toString());
+        parsed.setTables(tables);
+        parsed.setMetadata(buildMetadata(file, charset));
+        if (!issues.isEmpty()) parsed.setIssues(issues);
+
+        return parsed;
+    }
+
+    /**
+     * Streams CSV uploads as a "headers" event followed by one "row" event per data row, and
+     * other text as "text" events of one decoded chunk each; then a final "metadata" event.
+     */
+    @Override
+    public void stream(MultipartFile file, ParseOptions options, DocumentSink sink) throws Exception {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is empty or invalid");
         }
 
-        if (file.getSize() > 10 * 1024 * 1024) { // Limit: 10 MB
-            throw new IllegalArgumentException("Text file too large for parsing (>10MB)");
+        Charset charset = detectCharset(file);
+        CancellationToken cancellation = options.getCancellation();
+
+        if (csvTables && isCsv(file)) {
+            int[] rowNumber = {0};
+            CsvRowParser csv = new CsvRowParser(',', csvMaxRowChars, cells -> {
+                Map<String, Object> event = new LinkedHashMap<>();
+                if (rowNumber[0] == 0) {
+                    event.put("headers", cells);
+                    sink.emit("headers", event);
+                } else {
+                    event.put("rowNumber", rowNumber[0]);
+                    event.put("cells", cells);
+                    sink.emit("row", event);
+                }
+                rowNumber[0]++;
+            });
+
+            if (decode(file, charset, chars -> {
+                if (cancellation.isCancelled()) return false;
+                csv.feed(chars);
+                return true;
+            })) {
+                csv.finish();
+            }
+        } else {
+            int[] chunks = {0};
+            decode(file, charset, chars -> {
+                if (cancellation.isCancelled()) return false;
+                Map<String, Object> event = new LinkedHashMap<>();
+                event.put("chunk", ++chunks[0]);
+                event.put("text", chars.toString());
+                sink.emit("text", event);
+                return true;
+            });
+        }
+
+        if (cancellation.isCancelled()) {
+            throw new CancellationException("Text streaming stopped: " + cancellation.reason());
+        }
+        sink.emit("metadata", Map.of("metadata", buildMetadata(file, charset)));
+    }
+
+    /**
+     * Receives each decoded chunk; returning false stops reading.
+     */
+    @FunctionalInterface
+    private interface ChunkConsumer {
+        boolean accept(CharBuffer chars) throws IOException;
+    }
+
+    /**
+     * Decodes the file chunk by chunk, holding one byte buffer and one char buffer.
+     * Returns false if the consumer stopped before the end of the file.
+     */
+    private boolean decode(MultipartFile file, Charset charset, ChunkConsumer consumer) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocate(chunkBytes);
+        CharBuffer chars = CharBuffer.allocate((int) Math.ceil(chunkBytes * (double) decoder.maxCharsPerByte()) + 1);
+        boolean first = true;
+
+        try (ReadableByteChannel channel = openChannel(file)) {
+            boolean eof = false;
+            while (!eof) {
+                eof = channel.read(bytes) < 0;
+                bytes.flip();
+                decoder.decode(bytes, chars, eof);
+                if (eof) decoder.flush(chars);
+                bytes.compact(); // keeps a multi-byte sequence split across reads
+
+                chars.flip();
+                if (first && chars.hasRemaining()) {
+                    if (chars.get(chars.position()) == '\uFEFF') chars.get(); // byte order mark
+                    first = false;
+                }
+                if (chars.hasRemaining() && !consumer.accept(chars)) return false;
+                chars.clear();
+            }
+        }
+        return true;
+    }
+
+    private ReadableByteChannel openChannel(MultipartFile file) throws IOException {
+        if (file instanceof SpooledFile spooled) {
+            return FileChannel.open(spooled.getPath(), StandardOpenOption.READ);
+        }
+        return Channels.newChannel(file.getInputStream());
+    }
+
+    /**
+     * BOM first, then a charset parameter on the declared Content-Type, then the content:
+     * valid UTF-8 stays UTF-8, anything else goes to Tika's (ICU) charset detector.
+     */
+    private Charset detectCharset(MultipartFile file) throws IOException {
+        byte[] head;
+        try (InputStream is = file.getInputStream()) {
+            head = is.readNBytes(DETECT_BYTES);
+        }
+
+        if (startsWith(head, 0xEF, 0xBB, 0xBF)) return StandardCharsets.UTF_8;
+        if (startsWith(head, 0xFE, 0xFF)) return StandardCharsets.UTF_16BE;
+        if (startsWith(head, 0xFF, 0xFE)) return StandardCharsets.UTF_16LE;
+
+        Charset declared = declaredCharset(file.getContentType());
+        if (declared != null) return declared;
+
+        if (isUtf8(head)) return StandardCharsets.UTF_8;
+
+        CharsetMatch match = new CharsetDetector().setText(head).detect();
+        if (match != null && match.getConfidence() >= MIN_DETECT_CONFIDENCE && Charset.isSupported(match.getName())) {
+            return Charset.forName(match.getName());
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static Charset declaredCharset(String contentType) {
+        if (contentType == null) return null;
+        try {
+            return MimeTypeUtils.parseMimeType(contentType).getCharset();
+        } catch (Exception e) {
+            return null; // malformed or unsupported charset parameter
         }
+    }
+
+    private static boolean isUtf8(byte[] head) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            // endOfInput=false: a sequence cut off by the prefix limit is not an error
+            return !decoder.decode(ByteBuffer.wrap(head), CharBuffer.allocate(head.length), false).isError();
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
 
-        String text;
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            text = reader.lines().collect(Collectors.joining("\n"));
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data.length < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) return false;
         }
+        return true;
+    }
+
+    private boolean isCsv(MultipartFile file) {
+        if (file.getContentType() != null && file.getContentType().toLowerCase().startsWith("text/csv")) return true;
+        return file.getOriginalFilename() != null && file.getOriginalFilename().toLowerCase().endsWith(".csv");
+    }
+
+    private Table toTable(List<List<String>> rows) {
+        Table table = new Table();
+        table.setHeaders(rows.get(0));
+        table.setRows(rows.subList(1, rows.size()));
+        table.setStructuredRows(new ArrayList<>());
+        table.setConfidenceScore(0.99);
+        return table;
+    }
 
-        Metadata metadata = new Metadata(
+    private Metadata buildMetadata(MultipartFile file, Charset charset) {
+        return new Metadata(
                 file.getOriginalFilename(),
                 file.getContentType(),
                 file.getSize(),
                 1,
                 0.99,
-                "TextParser (BufferedReader)",
+                "TextParser (NIO, " + charset.name() + ")",
                 DateTimeFormatter.ISO_INSTANT.format(Instant.now())
         );
-
-        ParsedDocument parsed = new ParsedDocument();
-        parsed.setText(text);
-        parsed.setTables(Collections.emptyList());
-        parsed.setMetadata(metadata);
-
-        return parsed;
     }
 }
@@ -1,22 +1,29 @@
 package com.exituity.documentparser.parser;
 
 import com.exituity.documentparser.model.Metadata;
+import com.exituity.documentparser.model.ParseOptions;
 import com.exituity.documentparser.model.ParsedDocument;
-import org.apache.tika.Tika;
-import org.apache.tika.parser.AutoDetectParser;
-import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.metadata.TikaCoreProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
-public class TikaParser implements Parser {
+public class TikaParser implements StreamingParser {
 
-    private final Tika tika = new Tika();
+    private final TikaRuntime tika;
+
+    public TikaParser(TikaRuntime tika) {
+        this.tika = tika;
+    }
 
     @Override
     public boolean canParse(String contentType, String filename) {
@@ -24,43 +31,92 @@ public class TikaParser implements Parser {
         return true;
     }
 
+    @Override
+    public boolean isFallback() {
+        return true;
+    }
+
+    @Override
+    public int priority() {
+        return PRIORITY_FALLBACK;
+    }
+
     @Override
     public ParsedDocument parse(MultipartFile file) throws Exception {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Uploaded file is empty or invalid.");
         }
 
-        try (InputStream is = file.getInputStream()) {
-            AutoDetectParser parser = new AutoDetectParser();
-            org.apache.tika.metadata.Metadata tikaMeta = new org.apache.tika.metadata.Metadata();
-            BodyContentHandler handler = new BodyContentHandler(-1); // no length limit
+        try (InputStream is = UploadSources.openTika(file)) {
+            org.apache.tika.metadata.Metadata tikaMeta = newTikaMetadata(file);
+            StringBuilder text = new StringBuilder(); // bounded by parser.tika.max-chars
 
-            String text;
+            List<String> issues = new ArrayList<>();
             try {
-                parser.parse(is, handler, tikaMeta);
-                text = handler.toString();
+                issues.addAll(tika.extractText(is, tikaMeta, text::append));
             } catch (Exception e) {
-                text = "[Tika failed to parse content: " + e.getMessage() + "]";
+                text.setLength(0);
+                text.append("[Tika failed to parse content: ").append(e.getMessage()).append("]");
             }
 
-            double confidence = text.isBlank() ? 0.70 : 0.85;
-
-            Metadata docMetadata = new Metadata(
-                    file.getOriginalFilename(),
-                    tika.detect(file.getOriginalFilename()),
-                    file.getSize(),
-                    1,
-                    confidence,
-                    "Apache Tika (AutoDetectParser)",
-                    DateTimeFormatter.ISO_INSTANT.format(Instant.now())
-            );
+            double confidence = text.toString().isBlank() ? 0.70 : 0.85;
 
             ParsedDocument parsed = new ParsedDocument();
-            parsed.setText(text);
+            parsed.setText(text.toString());
             parsed.setTables(Collections.emptyList());
-            parsed.setMetadata(docMetadata);
+            parsed.setMetadata(buildMetadata(file, tikaMeta, confidence));
+            if (!issues.isEmpty()) parsed.setIssues(issues);
 
             return parsed;
         }
     }
+
+    /**
+     * Streams the text as "text" events of at most parser.tika.chunk-chars characters each,
+     * then an "issues" event if a cap cut it short, then "metadata".
+     */
+    @Override
+    public void stream(MultipartFile file, ParseOptions options, DocumentSink sink) throws Exception {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Uploaded file is empty or invalid.");
+        }
+
+        try (InputStream is = UploadSources.openTika(file)) {
+            org.apache.tika.metadata.Metadata tikaMeta = newTikaMetadata(file);
+            int[] chunks = {0};
+
+            List<String> issues = tika.extractText(is, tikaMeta, chunk -> {
+                Map<String, Object> event = new LinkedHashMap<>();
+                event.put("chunk", ++chunks[0]);
+                event.put("text", chunk);
+                sink.emit("text", event);
+            });
+
+            if (!issues.isEmpty()) sink.emit("issues", Map.of("issues", issues));
+            sink.emit("metadata", Map.of("metadata", buildMetadata(file, tikaMeta, chunks[0] == 0 ? 0.70 : 0.85)));
+        }
+    }
+
+    private org.apache.tika.metadata.Metadata newTikaMetadata(MultipartFile file) {
+        org.apache.tika.metadata.Metadata tikaMeta = new org.apache.tika.metadata.Metadata();
+        tikaMeta.set(TikaCoreProperties.RESOURCE_NAME_KEY, file.getOriginalFilename());
+        return tikaMeta;
+    }
+
+    private Metadata buildMetadata(MultipartFile file, org.apache.tika.metadata.Metadata tikaMeta,
+                                   double confidence) throws Exception {
+        // Detected while parsing; only a failed parse needs a separate (name-based) detection
+        String detectedType = tikaMeta.get(org.apache.tika.metadata.Metadata.CONTENT_TYPE);
+        if (detectedType == null) detectedType = tika.detect(null, file.getOriginalFilename());
+
+        return new Metadata(
+                file.getOriginalFilename(),
+                detectedType,
+                file.getSize(),
+                1,
+                confidence,
+                "Apache Tika (AutoDetectParser)",
+                DateTimeFormatter.ISO_INSTANT.format(Instant.now())
+        );
+    }
 }
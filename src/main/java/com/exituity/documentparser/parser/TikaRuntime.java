@@ -0,0 +1,198 @@
+package com.exituity.documentparser.parser;
+
+import jakarta.annotation.PostConstruct;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.extractor.EmbeddedDocumentExtractor;
+import org.apache.tika.extractor.ParsingEmbeddedDocumentExtractor;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TikaRuntime — the one Tika configuration, parser and detector shared by every parser
+ * that delegates to Tika.
+ *
+ * Building an AutoDetectParser walks the service-loader registry of parsers and detectors,
+ * so it is done once at startup instead of per request. AutoDetectParser and the detector are
+ * stateless and thread-safe; each call gets its own ParseContext and Metadata.
+ *
+ * Text is extracted through a BoundedTextWriter: it arrives in chunks, is capped at
+ * parser.tika.max-chars, and embedded documents are followed at most
+ * parser.tika.max-embedded-depth levels deep (negative = no limit, 0 = not parsed).
+ * Embedded documents left out by the depth cap are always reported in the issues.
+ */
+@Component
+public class TikaRuntime {
+
+    private static final Logger log = LoggerFactory.getLogger(TikaRuntime.class);
+
+    private static final String SAMPLE = "Invoice 1003 for 42 units shipped to Berlin on 2024-03-15.";
+
+    private final AutoDetectParser parser;
+    private final Detector detector;
+    private final boolean warmUp;
+    private final long maxChars;
+    private final int chunkChars;
+    private final int maxEmbeddedDepth;
+
+    public TikaRuntime(@Value("${parser.tika.config:}") String configPath,
+                       @Value("${parser.tika.warm-up:true}") boolean warmUp,
+                       @Value("${parser.tika.max-chars:10000000}") long maxChars,
+                       @Value("${parser.tika.chunk-chars:65536}") int chunkChars,
+                       @Value("${parser.tika.max-embedded-depth:-1}") int maxEmbeddedDepth) throws Exception {
+        TikaConfig config = configPath == null || configPath.isBlank()
+                ? TikaConfig.getDefaultConfig()
+                : new TikaConfig(Path.of(configPath));
+        this.parser = new AutoDetectParser(config);
+        this.detector = config.getDetector();
+        this.warmUp = warmUp;
+        this.maxChars = maxChars;
+        this.chunkChars = Math.max(1, chunkChars);
+        this.maxEmbeddedDepth = maxEmbeddedDepth;
+    }
+
+    /**
+     * Extracts the body text chunk by chunk into the consumer, within the character and
+     * embedded-depth caps. Returns a note for each cap that cut the text short, for
+     * ParsedDocument.issues; the text delivered up to that point is kept.
+     */
+    List<String> extractText(InputStream stream, Metadata metadata, BoundedTextWriter.ChunkConsumer consumer)
+            throws IOException, SAXException, TikaException {
+        BoundedTextWriter writer = new BoundedTextWriter(maxChars, chunkChars, consumer);
+        ParseContext context = new ParseContext();
+        context.set(Parser.class, parser);
+        DepthLimitedExtractor embedded = new DepthLimitedExtractor(context, maxEmbeddedDepth);
+        context.set(EmbeddedDocumentExtractor.class, embedded);
+
+        try {
+            parser.parse(stream, new BodyContentHandler(writer), metadata, context);
+        } catch (SAXException | TikaException e) {
+            // The cap surfaces as an exception from the handler, wrapped differently by each parser
+            if (!writer.isTruncated()) throw e;
+        } finally {
+            writer.flush();
+        }
+
+        List<String> issues = new ArrayList<>();
+        if (writer.isTruncated()) {
+            issues.add("Text truncated at " + maxChars + " characters");
+        }
+        if (embedded.skipped > 0) {
+            issues.add(maxEmbeddedDepth == 0
+                    ? "Skipped " + embedded.skipped + " embedded document(s); embedded parsing is disabled"
+                    : "Skipped " + embedded.skipped + " embedded document(s) nested deeper than "
+                            + maxEmbeddedDepth + " level(s)");
+        }
+        return issues;
+    }
+
+    /**
+     * Detects the type from the content and, as a hint, the file name.
+     */
+    public String detect(InputStream stream, String filename) throws IOException {
+        Metadata metadata = new Metadata();
+        if (filename != null) metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, filename);
+        return detector.detect(stream, metadata).toString();
+    }
+
+    /**
+     * Parses tiny plain text, HTML, XML, RTF and .docx samples, so the shared parser, the
+     * detector and the most common parser classes are loaded before the first real request.
+     * Other formats still load their parser classes on first use.
+     */
+    @PostConstruct
+    public void warmUp() {
+        if (!warmUp) return;
+
+        long start = System.currentTimeMillis();
+        int warmed = 0;
+        for (Map.Entry<String, byte[]> sample : samples().entrySet()) {
+            try (TikaInputStream is = TikaInputStream.get(sample.getValue())) {
+                Metadata metadata = new Metadata();
+                metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, sample.getKey());
+                extractText(is, metadata, chunk -> { });
+                warmed++;
+            } catch (Exception e) {
+                log.warn("Tika warm-up failed for {}: {}", sample.getKey(), e.getMessage());
+            }
+        }
+        log.info("Warmed up Tika on {} formats in {} ms", warmed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Parses embedded documents only down to the configured depth and counts the ones skipped.
+     */
+    private static final class DepthLimitedExtractor implements EmbeddedDocumentExtractor {
+
+        private final EmbeddedDocumentExtractor delegate;
+        private final int maxDepth;
+        private int depth;
+        private int skipped;
+
+        DepthLimitedExtractor(ParseContext context, int maxDepth) {
+            this.delegate = new ParsingEmbeddedDocumentExtractor(context);
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public boolean shouldParseEmbedded(Metadata metadata) {
+            if (maxDepth >= 0 && depth >= maxDepth) {
+                skipped++;
+                return false;
+            }
+            return delegate.shouldParseEmbedded(metadata);
+        }
+
+        @Override
+        public void parseEmbedded(InputStream stream, ContentHandler handler, Metadata metadata, boolean outputHtml)
+                throws SAXException, IOException {
+            depth++;
+            try {
+                delegate.parseEmbedded(stream, handler, metadata, outputHtml);
+            } finally {
+                depth--;
+            }
+        }
+    }
+
+    private static Map<String, byte[]> samples() {
+        Map<String, byte[]> samples = new LinkedHashMap<>();
+        samples.put("warmup.txt", SAMPLE.getBytes(StandardCharsets.UTF_8));
+        samples.put("warmup.html", ("<html><body><p>" + SAMPLE + "</p></body></html>").getBytes(StandardCharsets.UTF_8));
+        samples.put("warmup.xml", ("<?xml version=\"1.0\"?><note>" + SAMPLE + "</note>").getBytes(StandardCharsets.UTF_8));
+        samples.put("warmup.rtf", ("{\\rtf1\\ansi " + SAMPLE + "\\par}").getBytes(StandardCharsets.US_ASCII));
+
+        try (XWPFDocument docx = new XWPFDocument()) {
+            docx.createParagraph().createRun().setText(SAMPLE);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            docx.write(out);
+            samples.put("warmup.docx", out.toByteArray());
+        } catch (IOException e) {
+            log.warn("Could not build the .docx warm-up sample: {}", e.getMessage());
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,116 @@
+package com.exituity.documentparser.parser;
+
+import com.exituity.documentparser.upload.SpooledFile;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.tika.io.TikaInputStream;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * UploadSources — opens uploads for the parsing libraries.
+ *
+ * Spooled uploads are opened straight from their temp file, so PDFBox, POI and Tika read it
+ * with random access instead of buffering the whole upload on the heap. Other MultipartFiles
+ * fall back to their input stream.
+ */
+final class UploadSources {
+
+    /**
+     * Builds a POI document from an OPCPackage (e.g. XWPFDocument::new).
+     */
+    @FunctionalInterface
+    interface OoxmlFactory<T> {
+        T create(OPCPackage pkg) throws IOException;
+    }
+
+    /**
+     * Reads what it needs from a POI document while its package is still open.
+     */
+    @FunctionalInterface
+    interface OoxmlReader<T, R> {
+        R read(T document) throws Exception;
+    }
+
+    private UploadSources() {
+    }
+
+    /**
+     * Loads a PDF, keeping PDFBox's scratch buffers in temp files rather than on the heap.
+     */
+    static PDDocument loadPdf(MultipartFile file) throws IOException {
+        if (file instanceof SpooledFile spooled) {
+            return PDDocument.load(spooled.getFile(), MemoryUsageSetting.setupTempFileOnly());
+        }
+        try (InputStream is = file.getInputStream()) {
+            return PDDocument.load(is, MemoryUsageSetting.setupTempFileOnly());
+        }
+    }
+
+    /**
+     * Opens an OOXML package. File-backed packages are opened read-only and read zip entries lazily;
+     * release them with revert() rather than close(), which would try to save a read-only package.
+     */
+    static OPCPackage openPackage(MultipartFile file) throws Exception {
+        if (file instanceof SpooledFile spooled) {
+            return OPCPackage.open(spooled.getFile(), PackageAccess.READ);
+        }
+        try (InputStream is = file.getInputStream()) {
+            return OPCPackage.open(is);
+        }
+    }
+
+    /**
+     * Opens the package, builds a POI document on it and hands it to the reader; the package is
+     * reverted afterwards so nothing is written back.
+     */
+    static <T, R> R readOoxml(MultipartFile file, OoxmlFactory<T> factory, OoxmlReader<T, R> reader) throws Exception {
+        OPCPackage pkg = openPackage(file);
+        try {
+            return reader.read(factory.create(pkg));
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    /**
+     * Opens a legacy OLE2 file (.xls, .ppt, .doc) read-only; file-backed systems read blocks on demand.
+     */
+    static POIFSFileSystem openOle2(MultipartFile file) throws IOException {
+        if (file instanceof SpooledFile spooled) {
+            return new POIFSFileSystem(spooled.getFile(), true);
+        }
+        try (InputStream is = file.getInputStream()) {
+            return new POIFSFileSystem(is);
+        }
+    }
+
+    /**
+     * Opens a .xls or .xlsx workbook read-only.
+     */
+    static Workbook openWorkbook(MultipartFile file) throws IOException {
+        if (file instanceof SpooledFile spooled) {
+            return WorkbookFactory.create(spooled.getFile(), null, true);
+        }
+        try (InputStream is = file.getInputStream()) {
+            return WorkbookFactory.create(is);
+        }
+    }
+
+    /**
+     * Opens a TikaInputStream; for spooled uploads Tika's container parsers can use the file directly.
+     */
+    static TikaInputStream openTika(MultipartFile file) throws IOException {
+        if (file instanceof SpooledFile spooled) {
+            return TikaInputStream.get(spooled.getPath());
+        }
+        return TikaInputStream.get(file.getInputStream());
+    }
+}
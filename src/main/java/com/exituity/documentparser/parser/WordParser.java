@@ -4,8 +4,9 @@ import com.exituity.documentparser.model.Metadata;
 import com.exituity.documentparser.model.ParsedDocument;
 import com.exituity.documentparser.model.Table;
 import org.apache.poi.xwpf.usermodel.*;
-import org.apache.tika.parser.AutoDetectParser;
-import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -14,14 +15,26 @@ import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 🧠 WordParser — extracts text and tables from Word files (.docx, .doc)
- * Uses Apache Tika for text extraction and Apache POI for table extraction.
+ * .docx files are read in a single Apache POI pass that yields both text and tables;
+ * legacy .doc files use Apache Tika for text extraction.
  */
 @Component
 public class WordParser implements Parser {
 
+    private static final Logger log = LoggerFactory.getLogger(WordParser.class);
+
+    private static final String DOCX_TYPE = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private final TikaRuntime tika;
+
+    public WordParser(TikaRuntime tika) {
+        this.tika = tika;
+    }
+
     @Override
     public boolean canParse(String contentType, String filename) {
         if (contentType != null && contentType.contains("word"))
@@ -30,23 +43,47 @@ public class WordParser implements Parser {
     }
 
     @Override
-    public ParsedDocument parse(MultipartFile file) throws Exception {
-        ParsedDocument parsed = new ParsedDocument();
+    public Set<String> supportedTypes() {
+        return Set.of(
+                DOCX_TYPE, // .docx
+                "application/msword" // .doc
+        );
+    }
 
-        try (InputStream is = file.getInputStream()) {
+    @Override
+    public Set<String> supportedExtensions() {
+        return Set.of("docx", "doc");
+    }
 
-            // Step 1: Extract text using Apache Tika
-            AutoDetectParser parser = new AutoDetectParser();
-            BodyContentHandler handler = new BodyContentHandler(-1);
-            org.apache.tika.metadata.Metadata tikaMetadata = new org.apache.tika.metadata.Metadata();
+    @Override
+    public int priority() {
+        return PRIORITY_SPECIALISED;
+    }
 
-            parser.parse(is, handler, tikaMetadata);
-            String text = handler.toString().trim();
+    @Override
+    public ParsedDocument parse(MultipartFile file) throws Exception {
+        ParsedDocument parsed = new ParsedDocument();
 
-            //  Step 2: Extract tables using Apache POI (for .docx files)
+        try {
+            String text = null;
             List<Table> tables = new ArrayList<>();
-            if (file.getOriginalFilename() != null && file.getOriginalFilename().endsWith(".docx")) {
-                tables = extractTablesUsingPOI(file);
+            List<String> issues = new ArrayList<>();
+            String extractedBy = "Apache Tika (AutoDetectParser)";
+
+            //  Step 1: .docx — text and tables from a single POI pass over the document body
+            if (isDocx(file)) {
+                try {
+                    text = extractDocx(file, tables);
+                    extractedBy = "Apache POI (XWPF)";
+                } catch (Exception e) {
+                    log.warn("DOCX extraction failed for {}, falling back to Tika: {}", file.getOriginalFilename(), e.getMessage());
+                    tables.clear();
+                }
+            }
+
+            //  Step 2: .doc (or unreadable .docx) — text only, via Apache Tika
+            if (text == null) {
+                text = extractTextUsingTika(file, issues);
             }
 
             //  Step 3: Build metadata (7 parameters)
@@ -56,7 +93,7 @@ public class WordParser implements Parser {
                     file.getSize(),
                     1,                      // Page count approximation for Word
                     0.85,                   // Confidence
-                    "Apache Tika (AutoDetectParser)",
+                    extractedBy,
                     DateTimeFormatter.ISO_INSTANT.format(Instant.now())
             );
 
@@ -65,10 +102,10 @@ public class WordParser implements Parser {
             parsed.setTables(tables);
             parsed.setMetadata(metadata);
             parsed.setExtractedImages(null);
-            parsed.setIssues(null);
+            parsed.setIssues(issues.isEmpty() ? null : issues);
 
         } catch (Exception e) {
-            System.err.println("❌ Word parsing failed: " + e.getMessage());
+            log.warn("Word parsing failed for {}: {}", file.getOriginalFilename(), e.getMessage());
             throw e;
         }
 
@@ -76,46 +113,87 @@ public class WordParser implements Parser {
     }
 
     /**
-     *  Extract structured tables from DOCX using Apache POI.
+     *  Walks the DOCX body once, collecting running text and structured tables in document order.
+     *  Content controls (XWPFSDT) contribute their text; headers and footers are kept on their own lines.
      */
-    private List<Table> extractTablesUsingPOI(MultipartFile file) {
-        List<Table> tableList = new ArrayList<>();
+    private String extractDocx(MultipartFile file, List<Table> tables) throws Exception {
+        return UploadSources.readOoxml(file, XWPFDocument::new, doc -> {
+            StringBuilder text = new StringBuilder();
 
-        try (InputStream is = file.getInputStream();
-             XWPFDocument doc = new XWPFDocument(is)) {
+            for (XWPFHeader header : doc.getHeaderList()) {
+                appendLine(text, header.getText());
+            }
 
-            for (XWPFTable table : doc.getTables()) {
-                List<List<String>> rows = new ArrayList<>();
+            for (IBodyElement element : doc.getBodyElements()) {
+                if (element instanceof XWPFParagraph paragraph) {
+                    text.append(paragraph.getText()).append("\n");
+                } else if (element instanceof XWPFTable table) {
+                    List<List<String>> rows = new ArrayList<>();
+
+                    for (XWPFTableRow row : table.getRows()) {
+                        List<String> cells = new ArrayList<>();
+                        for (XWPFTableCell cell : row.getTableCells()) {
+                            cells.add(cell.getText().trim());
+                        }
+                        rows.add(cells);
+                        text.append(String.join("\t", cells)).append("\n");
+                    }
 
-                for (XWPFTableRow row : table.getRows()) {
-                    List<String> cells = new ArrayList<>();
-                    for (XWPFTableCell cell : row.getTableCells()) {
-                        cells.add(cell.getText().trim());
+                    if (!rows.isEmpty()) {
+                        tables.add(toTable(rows));
                     }
-                    rows.add(cells);
+                } else if (element instanceof XWPFSDT sdt) { // BodyElementType.CONTENTCONTROL
+                    appendLine(text, sdt.getContent().getText());
                 }
+            }
 
-                if (rows.isEmpty()) continue;
+            for (XWPFFooter footer : doc.getFooterList()) {
+                appendLine(text, footer.getText());
+            }
 
-                // Detect headers
-                List<String> headers = new ArrayList<>();
-                if (!rows.isEmpty()) headers = rows.remove(0);
+            return text.toString().trim();
+        });
+    }
 
-                //  Use setter-based Table creation (no constructor conflict)
-                Table t = new Table();
-                t.setTableName(null);
-                t.setHeaders(headers);
-                t.setRows(rows);
-                t.setStructuredRows(new ArrayList<>());
-                t.setConfidenceScore(0.95);
+    /**
+     *  Appends a block of text and makes sure the next block starts on a new line.
+     */
+    private static void appendLine(StringBuilder text, String block) {
+        if (block == null || block.isEmpty()) return;
+        text.append(block);
+        if (!block.endsWith("\n")) text.append("\n");
+    }
 
-                tableList.add(t);
-            }
+    private boolean isDocx(MultipartFile file) {
+        if (file.getContentType() != null && DOCX_TYPE.equalsIgnoreCase(file.getContentType())) return true;
+        return file.getOriginalFilename() != null && file.getOriginalFilename().toLowerCase().endsWith(".docx");
+    }
 
-        } catch (Exception e) {
-            System.err.println(" Table extraction failed in Word: " + e.getMessage());
+    /**
+     *  Text-only extraction for legacy .doc files using Apache Tika, capped at parser.tika.max-chars.
+     */
+    private String extractTextUsingTika(MultipartFile file, List<String> issues) throws Exception {
+        try (InputStream is = UploadSources.openTika(file)) {
+            StringBuilder text = new StringBuilder();
+            org.apache.tika.metadata.Metadata tikaMetadata = new org.apache.tika.metadata.Metadata();
+            tikaMetadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, file.getOriginalFilename());
+
+            issues.addAll(tika.extractText(is, tikaMetadata, text::append));
+            return text.toString().trim();
         }
+    }
 
-        return tableList;
+    private Table toTable(List<List<String>> rows) {
+        // Detect headers
+        List<String> headers = rows.remove(0);
+
+        //  Use setter-based Table creation (no constructor conflict)
+        Table t = new Table();
+        t.setTableName(null);
+        t.setHeaders(headers);
+        t.setRows(rows);
+        t.setStructuredRows(new ArrayList<>());
+        t.setConfidenceScore(0.95);
+        return t;
     }
 }
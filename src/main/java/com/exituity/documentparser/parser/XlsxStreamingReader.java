@@ -0,0 +1,284 @@
+package com.exituity.documentparser.parser;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XlsxStreamingReader — SAX-based reader for large .xlsx workbooks.
+ *
+ * Walks each sheet's XML through XSSFReader so only the current row is held in memory,
+ * instead of building the full XSSF object model the way WorkbookFactory does.
+ * Cell values are rendered the same way ExcelParser's DOM path renders them. When the handler
+ * asks for typed values (see CellValues), they are derived from the same raw cell text in the
+ * same pass; string cells share one String between both.
+ */
+class XlsxStreamingReader {
+
+    /**
+     * Receives the rows of each sheet in document order.
+     */
+    interface SheetRowHandler {
+
+        /**
+         * Sheets answered with false (1-based position) are skipped without parsing their XML.
+         */
+        default boolean wantsSheet(String sheetName, int position) {
+            return true;
+        }
+
+        void startSheet(String sheetName);
+
+        /**
+         * Asked per cell (0-based column); unwanted cells are not decoded or looked up.
+         */
+        default boolean wantsColumn(int column) {
+            return true;
+        }
+
+        /**
+         * Whether rows should also carry typed cell values; asked once per sheet.
+         */
+        default boolean wantsValues() {
+            return false;
+        }
+
+        /**
+         * One non-blank row, positionally (index = column); blank and unwanted cells are "" in
+         * cells and null in values. values is null unless {@link #wantsValues()}.
+         */
+        void row(List<String> cells, List<Object> values) throws IOException;
+
+        void endSheet(String sheetName);
+
+        /**
+         * Polled after every row; returning true ends the read after the current row.
+         */
+        default boolean stopRequested() {
+            return false;
+        }
+
+        /**
+         * Polled after every row; returning true skips the rest of the current sheet.
+         */
+        default boolean sheetDone() {
+            return false;
+        }
+    }
+
+    /**
+     * Reads every sheet of the workbook (or until the handler asks to stop) and returns
+     * the number of sheets visited.
+     */
+    int read(MultipartFile xlsx, SheetRowHandler handler) throws Exception {
+        OPCPackage pkg = UploadSources.openPackage(xlsx);
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            // styles are only needed to tell dates from numbers
+            DateStyles dateStyles = handler.wantsValues() ? new DateStyles(reader.getStylesTable()) : null;
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            int sheetCount = 0;
+
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    String sheetName = sheets.getSheetName();
+                    if (!handler.wantsSheet(sheetName, sheetCount + 1)) {
+                        sheetCount++;
+                        continue;
+                    }
+                    handler.startSheet(sheetName);
+
+                    XMLReader xmlReader = XMLHelper.newXMLReader();
+                    xmlReader.setContentHandler(new SheetHandler(strings, dateStyles, handler));
+                    try {
+                        xmlReader.parse(new InputSource(sheetStream));
+                    } catch (StopReading e) {
+                        handler.endSheet(sheetName);
+                        return sheetCount + 1;
+                    } catch (SheetDone e) {
+                        // rest of this sheet not needed; carry on with the next one
+                    }
+
+                    handler.endSheet(sheetName);
+                }
+                sheetCount++;
+            }
+            return sheetCount;
+        } finally {
+            // close() would try to save a read-only package
+            pkg.revert();
+        }
+    }
+
+    /**
+     * Unwinds the SAX parser when the handler asks to stop.
+     */
+    private static final class StopReading extends SAXException {
+    }
+
+    /**
+     * Unwinds the SAX parser when the handler needs no more rows of the current sheet.
+     */
+    private static final class SheetDone extends SAXException {
+    }
+
+    /**
+     * Whether a cell style index has a date number format, worked out once per style.
+     */
+    private static final class DateStyles {
+
+        private final StylesTable styles;
+        private final Map<Integer, Boolean> isDate = new HashMap<>();
+
+        DateStyles(StylesTable styles) {
+            this.styles = styles;
+        }
+
+        boolean isDate(int styleIndex) {
+            if (styles == null) return false;
+            return isDate.computeIfAbsent(styleIndex, index -> {
+                XSSFCellStyle style = styles.getStyleAt(index);
+                return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+            });
+        }
+    }
+
+    /**
+     * SAX handler for a single worksheet part (sheetN.xml).
+     */
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable strings;
+        private final DateStyles dateStyles;
+        private final SheetRowHandler handler;
+        private final boolean typed;
+        private final StringBuilder value = new StringBuilder();
+
+        private List<String> cells;
+        private List<Object> values;
+        private int nextColumn;
+        private int column;
+        private String cellType;
+        private int styleIndex;
+        private boolean skipCell;
+        private boolean collecting;
+
+        SheetHandler(ReadOnlySharedStringsTable strings, DateStyles dateStyles, SheetRowHandler handler) {
+            this.strings = strings;
+            this.dateStyles = dateStyles;
+            this.handler = handler;
+            this.typed = handler.wantsValues();
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    cells = new ArrayList<>();
+                    values = typed ? new ArrayList<>() : null;
+                    nextColumn = 0;
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? new CellReference(ref).getCol() : nextColumn;
+                    cellType = attributes.getValue("t");
+                    if (typed) {
+                        String style = attributes.getValue("s");
+                        styleIndex = style != null ? Integer.parseInt(style) : 0;
+                    }
+                    skipCell = !handler.wantsColumn(column);
+                    value.setLength(0);
+                }
+                case "v", "t" -> collecting = !skipCell;
+                default -> { }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) value.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v", "t" -> collecting = false;
+                case "c" -> {
+                    if (!skipCell) {
+                        // Pad gaps with blanks, like MissingCellPolicy.CREATE_NULL_AS_BLANK
+                        while (cells.size() < column) cells.add("");
+                        String text = cellText().trim();
+                        cells.add(text);
+                        if (typed) {
+                            while (values.size() < column) values.add(null);
+                            values.add(cellValue(text));
+                        }
+                    }
+                    nextColumn = column + 1;
+                }
+                case "row" -> {
+                    if (cells.stream().anyMatch(v -> !v.isBlank())) {
+                        try {
+                            handler.row(cells, values);
+                        } catch (IOException e) {
+                            throw new SAXException(e);
+                        }
+                    }
+                    cells = null;
+                    values = null;
+                    if (handler.stopRequested()) throw new StopReading();
+                    if (handler.sheetDone()) throw new SheetDone();
+                }
+                default -> { }
+            }
+        }
+
+        private String cellText() {
+            String raw = value.toString();
+            if (cellType == null) return raw;
+
+            return switch (cellType) {
+                case "s" -> raw.isEmpty() ? "" : strings.getItemAt(Integer.parseInt(raw)).getString();
+                case "b" -> "1".equals(raw) ? "TRUE" : "FALSE";
+                default -> raw; // n, str, inlineStr, e
+            };
+        }
+
+        /**
+         * Types the cell from its t attribute and rendered text; strings reuse the text itself.
+         */
+        private Object cellValue(String text) {
+            if (text.isEmpty()) return null;
+            if (cellType == null || "n".equals(cellType)) {
+                try {
+                    double number = Double.parseDouble(text);
+                    return dateStyles.isDate(styleIndex) ? CellValues.date(number) : CellValues.number(number);
+                } catch (NumberFormatException e) {
+                    return text;
+                }
+            }
+            if ("b".equals(cellType)) return "TRUE".equals(text);
+            return text; // s, str, inlineStr, e (error text, e.g. #DIV/0!)
+        }
+    }
+}
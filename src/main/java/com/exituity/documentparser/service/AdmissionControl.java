@@ -0,0 +1,235 @@
+package com.exituity.documentparser.service;
+
+import com.exituity.documentparser.exception.ServiceUnavailableException;
+import com.exituity.documentparser.exception.TooManyRequestsException;
+import com.exituity.documentparser.model.ParseOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AdmissionControl — limits how much parsing of each kind runs at once.
+ *
+ * Each admission class (ocr, pdf, excel, default) has its own budget of cost units, so a burst
+ * of scanned PDFs or huge workbooks queues inside its own class while cheap text documents keep
+ * flowing. A request's cost grows with the upload size and, when a page range is requested, is
+ * capped by the number of pages asked for; parsers that learn the real page count once the document
+ * is open give back the excess through their Permit. OCR run inside another class (scanned PDF pages)
+ * is charged to the ocr budget on top, one unit per page. Requests that would join a full queue are
+ * rejected at once with 429; requests that wait longer than the queue timeout get 503. Both carry Retry-After.
+ */
+@Component
+public class AdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    static final String CLASS_OCR = "ocr";
+    static final String CLASS_PDF = "pdf";
+    static final String CLASS_EXCEL = "excel";
+    static final String CLASS_DEFAULT = "default";
+
+    private final boolean enabled;
+    private final Duration queueTimeout;
+    private final int maxWaiting;
+    private final long bytesPerUnit;
+    private final int pagesPerUnit;
+    private final Map<String, Budget> budgets = new LinkedHashMap<>();
+    private final MeterRegistry registry;
+
+    public AdmissionControl(@Value("${parser.admission.enabled:true}") boolean enabled,
+                            @Value("${parser.admission.queue-timeout:10s}") Duration queueTimeout,
+                            @Value("${parser.admission.max-waiting:50}") int maxWaiting,
+                            @Value("${parser.admission.cost-unit:5MB}") DataSize costUnit,
+                            @Value("${parser.admission.pages-per-unit:10}") int pagesPerUnit,
+                            @Value("${parser.admission.budgets.ocr:4}") int ocrBudget,
+                            @Value("${parser.admission.budgets.pdf:16}") int pdfBudget,
+                            @Value("${parser.admission.budgets.excel:8}") int excelBudget,
+                            @Value("${parser.admission.budgets.default:64}") int defaultBudget,
+                            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.queueTimeout = queueTimeout;
+        this.maxWaiting = maxWaiting;
+        this.bytesPerUnit = Math.max(1, costUnit.toBytes());
+        this.pagesPerUnit = Math.max(1, pagesPerUnit);
+        this.registry = registry;
+
+        addBudget(CLASS_OCR, ocrBudget);
+        addBudget(CLASS_PDF, pdfBudget);
+        addBudget(CLASS_EXCEL, excelBudget);
+        addBudget(CLASS_DEFAULT, defaultBudget);
+    }
+
+    /**
+     * Waits for room in the parser's admission class; close the returned permit when the parse ends.
+     *
+     * @param parserTag short parser name (see ParseMetrics.parserTag)
+     * @throws TooManyRequestsException    if the class already has too many requests waiting
+     * @throws ServiceUnavailableException if no room was freed within the queue timeout
+     */
+    public Permit admit(String parserTag, long bytes, ParseOptions options) throws InterruptedException {
+        if (!enabled) return Permit.NONE;
+
+        Budget budget = budgets.get(classOf(parserTag));
+        return acquire(budget, cost(bytes, options, budget.capacity()));
+    }
+
+    /**
+     * Charges OCR of the given number of pages to the ocr budget, for parsers admitted in another
+     * class that fall back to OCR; close the returned permit when the OCR ends.
+     *
+     * @throws TooManyRequestsException    if the ocr class already has too many requests waiting
+     * @throws ServiceUnavailableException if no OCR room was freed within the queue timeout
+     */
+    public Permit admitOcr(int pages) throws InterruptedException {
+        if (!enabled) return Permit.NONE;
+
+        Budget budget = budgets.get(CLASS_OCR);
+        return acquire(budget, Math.min(Math.max(1, pages), budget.capacity()));
+    }
+
+    private Permit acquire(Budget budget, int cost) throws InterruptedException {
+        long retryAfter = Math.max(1, queueTimeout.toSeconds());
+
+        if (budget.waiting().incrementAndGet() > maxWaiting) {
+            budget.waiting().decrementAndGet();
+            reject(budget, "queue-full");
+            throw new TooManyRequestsException("Too many " + budget.name() + " parses queued; retry later", retryAfter);
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = budget.permits().tryAcquire(cost, queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } finally {
+            budget.waiting().decrementAndGet();
+        }
+        Timer.builder("parse.admission.wait")
+                .description("Time spent waiting for a parse slot")
+                .tag("class", budget.name())
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            reject(budget, "timeout");
+            throw new ServiceUnavailableException("No " + budget.name() + " parse capacity within "
+                    + queueTimeout.toSeconds() + "s; retry later", retryAfter);
+        }
+        return new Permit(this, budget.permits(), cost);
+    }
+
+    /**
+     * Cost in budget units: one per cost-unit of upload size, or per pages-per-unit requested pages
+     * if that is smaller, capped at the class budget so a single huge file can still run alone.
+     */
+    int cost(long bytes, ParseOptions options, int capacity) {
+        long units = Math.max(1, (bytes + bytesPerUnit - 1) / bytesPerUnit);
+
+        if (options != null && options.getPages() != null) {
+            int pages = options.getPages().maxPageCount();
+            if (pages != Integer.MAX_VALUE) {
+                units = Math.min(units, pageUnits(pages));
+            }
+        }
+        return (int) Math.min(units, capacity);
+    }
+
+    int pageUnits(int pages) {
+        return Math.max(1, (pages + pagesPerUnit - 1) / pagesPerUnit);
+    }
+
+    static String classOf(String parserTag) {
+        return switch (parserTag) {
+            case "image" -> CLASS_OCR;
+            case "pdf" -> CLASS_PDF;
+            case "excel" -> CLASS_EXCEL;
+            default -> CLASS_DEFAULT;
+        };
+    }
+
+    private void addBudget(String name, int capacity) {
+        Budget budget = new Budget(name, new Semaphore(Math.max(1, capacity), true), Math.max(1, capacity), new AtomicInteger());
+        budgets.put(name, budget);
+
+        Gauge.builder("parse.admission.in.use", budget, b -> b.capacity() - b.permits().availablePermits())
+                .description("Cost units currently admitted")
+                .tag("class", name)
+                .register(registry);
+        Gauge.builder("parse.admission.waiting", budget.waiting(), AtomicInteger::get)
+                .description("Requests waiting for admission")
+                .tag("class", name)
+                .register(registry);
+    }
+
+    private void reject(Budget budget, String reason) {
+        Counter.builder("parse.admission.rejected")
+                .tag("class", budget.name())
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+        log.debug("Rejected {} parse ({})", budget.name(), reason);
+    }
+
+    private record Budget(String name, Semaphore permits, int capacity, AtomicInteger waiting) {
+    }
+
+    /**
+     * Admission held for the duration of one parse.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        public static final Permit NONE = new Permit(null, null, 0);
+
+        private final AdmissionControl admission;
+        private final Semaphore permits;
+        private int cost;
+
+        private Permit(AdmissionControl admission, Semaphore permits, int cost) {
+            this.admission = admission;
+            this.permits = permits;
+            this.cost = cost;
+        }
+
+        /**
+         * Lowers the cost to what the given number of pages is worth, once the parser has opened the
+         * document and knows how many pages it will actually read; size alone overcharges large
+         * files with few pages. Never raises the cost.
+         */
+        public synchronized void capPages(int pages) {
+            if (permits == null) return;
+            int capped = Math.min(cost, admission.pageUnits(pages));
+            permits.release(cost - capped);
+            cost = capped;
+        }
+
+        /**
+         * Charges OCR of the given number of pages to the ocr budget; see {@link AdmissionControl#admitOcr}.
+         */
+        public Permit admitOcr(int pages) throws InterruptedException {
+            return admission == null ? NONE : admission.admitOcr(pages);
+        }
+
+        int cost() {
+            return cost;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (permits == null) return;
+            permits.release(cost);
+            cost = 0;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.exituity.documentparser.service;
+
+import com.exituity.documentparser.model.CancellationToken;
+import com.exituity.documentparser.model.ParseOptions;
+import com.exituity.documentparser.upload.SpooledFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * BatchParseService — parses many uploads concurrently and streams one NDJSON line per file
+ * as each finishes. A failing file is reported inline and does not fail the batch.
+ *
+ * Zip archives are expanded within per-entry and total size limits. Each batch keeps at most
+ * one file per pool thread in flight; when the shared queue is full the streaming thread parses
+ * the file itself. Spooled batches whose response never starts are deleted after start-timeout.
+ * Each file gets its own parse deadline (parser.batch.timeout), and the whole batch stops when
+ * the response can no longer be written.
+ */
+@Service
+public class BatchParseService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchParseService.class);
+
+    private final DocumentService documentService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int maxFiles;
+    private final long maxEntrySize;
+    private final long maxTotalSize;
+    private final Duration startTimeout;
+    private final Duration itemTimeout;
+    private final Map<List<SpooledFile>, Instant> pending = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public BatchParseService(DocumentService documentService,
+                             ObjectMapper objectMapper,
+                             @Value("${parser.batch.threads:4}") int threads,
+                             @Value("${parser.batch.queue-capacity:100}") int queueCapacity,
+                             @Value("${parser.batch.max-files:1000}") int maxFiles,
+                             @Value("${parser.batch.max-entry-size:100MB}") DataSize maxEntrySize,
+                             @Value("${parser.batch.max-total-size:1GB}") DataSize maxTotalSize,
+                             @Value("${parser.batch.start-timeout:${spring.mvc.async.request-timeout:10m}}") Duration startTimeout,
+                             @Value("${parser.batch.timeout:10m}") Duration itemTimeout) {
+        this.documentService = documentService;
+        this.objectMapper = objectMapper;
+        this.threads = threads;
+        this.maxFiles = maxFiles;
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.maxTotalSize = maxTotalSize.toBytes();
+        this.startTimeout = startTimeout;
+        this.itemTimeout = itemTimeout;
+
+        AtomicInteger counter = new AtomicInteger(1);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "parse-batch-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Spools every upload (expanding .zip archives into their entries) so the files outlive the request thread.
+     * The batch must then be handed to {@link #parseAll}, which deletes the files.
+     *
+     * @throws IllegalArgumentException if the batch exceeds the file count or size limits
+     */
+    public List<SpooledFile> spool(List<MultipartFile> uploads) throws IOException {
+        List<SpooledFile> files = new ArrayList<>();
+        long[] total = new long[1];
+        boolean complete = false;
+        try {
+            for (MultipartFile upload : uploads) {
+                if (isZip(upload)) {
+                    expandZip(upload, files, total);
+                } else {
+                    SpooledFile file = SpooledFile.spool(upload);
+                    files.add(file);
+                    total[0] += file.getSize();
+                    checkTotalSize(total[0]);
+                }
+                checkLimit(files);
+            }
+            pending.put(files, Instant.now());
+            complete = true;
+            return files;
+        } finally {
+            if (!complete) files.forEach(SpooledFile::close);
+        }
+    }
+
+    /**
+     * Parses the files on the batch pool and writes each result to the stream as soon as it completes.
+     * The spooled files are deleted afterwards.
+     *
+     * @param cancellation stops every file still parsing; cancelled here too when a write fails
+     */
+    public void parseAll(List<SpooledFile> files, OutputStream out, CancellationToken cancellation) throws IOException {
+        if (pending.remove(files) == null) {
+            throw new IOException("Batch was discarded before its response started");
+        }
+
+        CompletionService<Map<String, Object>> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Map<String, Object>>> futures = new ArrayList<>();
+
+        try {
+            int next = 0;
+            while (next < files.size() && next < threads) {
+                futures.add(submit(completion, files, next++, cancellation));
+            }
+
+            for (int i = 0; i < files.size(); i++) {
+                Map<String, Object> line = completion.take().get();
+                if (next < files.size()) futures.add(submit(completion, files, next++, cancellation));
+
+                byte[] json = objectMapper.writeValueAsBytes(line);
+                try {
+                    out.write(json);
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException e) {
+                    cancellation.cancel("response write failed");
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch parsing interrupted", e);
+        } catch (ExecutionException e) {
+            // parseOne never throws; this would be a bug
+            throw new IOException("Batch parsing failed", e.getCause());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+            files.forEach(SpooledFile::close);
+        }
+    }
+
+    /**
+     * Deletes spooled batches whose response body was never started, e.g. because the client
+     * disconnected or the async request timed out first.
+     */
+    @Scheduled(fixedDelayString = "${parser.batch.cleanup-interval-ms:60000}")
+    public void discardAbandonedBatches() {
+        Instant cutoff = Instant.now().minus(startTimeout);
+        List<List<SpooledFile>> abandoned = new ArrayList<>();
+        synchronized (pending) {
+            pending.entrySet().removeIf(entry -> {
+                if (!entry.getValue().isBefore(cutoff)) return false;
+                abandoned.add(entry.getKey());
+                return true;
+            });
+        }
+        abandoned.forEach(files -> files.forEach(SpooledFile::close));
+    }
+
+    private Future<Map<String, Object>> submit(CompletionService<Map<String, Object>> completion,
+                                               List<SpooledFile> files, int index, CancellationToken cancellation) {
+        return completion.submit(() -> parseOne(index, files.get(index), cancellation));
+    }
+
+    private Map<String, Object> parseOne(int index, SpooledFile file, CancellationToken cancellation) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("index", index);
+        line.put("fileName", file.getOriginalFilename());
+
+        try {
+            // the deadline starts when the file is picked up, not when the batch arrived
+            ParseOptions options = ParseOptions.defaults().withCancellation(cancellation.withDeadline(itemTimeout));
+            Object result = documentService.parseDocument(file, options);
+            line.put("status", "ok");
+            line.put("result", result);
+        } catch (Exception e) {
+            log.warn("Batch item {} failed: {}", file.getOriginalFilename(), e.getMessage());
+            line.put("status", "error");
+            line.put("error", e.getMessage());
+        }
+        return line;
+    }
+
+    /**
+     * Spools each entry while counting its uncompressed bytes, so an archive that inflates past
+     * max-entry-size or max-total-size is stopped mid-copy instead of filling the temp disk.
+     */
+    private void expandZip(MultipartFile upload, List<SpooledFile> files, long[] total) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(upload.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) continue;
+
+                long remaining = maxTotalSize - total[0];
+                boolean entryBound = maxEntrySize <= remaining;
+
+                // spool() closes the stream it is given; shield the archive stream from that
+                LimitedInputStream limited = new LimitedInputStream(CloseShieldInputStream.wrap(zip),
+                        Math.min(maxEntrySize, remaining));
+                try {
+                    files.add(SpooledFile.spool("files", entry.getName(), null, limited));
+                } catch (SizeLimitException e) {
+                    throw new IllegalArgumentException(entryBound
+                            ? "Zip entry " + entry.getName() + " exceeds the limit of " + maxEntrySize + " bytes"
+                            : "Batch exceeds the total size limit of " + maxTotalSize + " bytes");
+                }
+                total[0] += limited.count;
+                checkLimit(files);
+            }
+        }
+    }
+
+    private boolean isZip(MultipartFile upload) {
+        String contentType = upload.getContentType();
+        if (contentType != null && (contentType.equals("application/zip") || contentType.equals("application/x-zip-compressed"))) {
+            return true;
+        }
+        return upload.getOriginalFilename() != null && upload.getOriginalFilename().toLowerCase().endsWith(".zip");
+    }
+
+    private void checkLimit(List<SpooledFile> files) {
+        if (files.size() > maxFiles) {
+            throw new IllegalArgumentException("Batch exceeds the limit of " + maxFiles + " files");
+        }
+    }
+
+    private void checkTotalSize(long total) {
+        if (total > maxTotalSize) {
+            throw new IllegalArgumentException("Batch exceeds the total size limit of " + maxTotalSize + " bytes");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        synchronized (pending) {
+            pending.keySet().forEach(files -> files.forEach(SpooledFile::close));
+            pending.clear();
+        }
+    }
+
+    /**
+     * Fails the copy once more than the allowed number of bytes has been read. It is an
+     * IOException so SpooledFile.spool deletes the partial temp file.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) counted(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            if (n > 0) counted(n);
+            return n;
+        }
+
+        private void counted(int n) throws SizeLimitException {
+            count += n;
+            if (count > limit) throw new SizeLimitException();
+        }
+    }
+
+    private static final class SizeLimitException extends IOException {
+    }
+}
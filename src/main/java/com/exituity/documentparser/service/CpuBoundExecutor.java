@@ -0,0 +1,75 @@
+package com.exituity.documentparser.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CpuBoundExecutor — bounded platform-thread pool for the CPU-heavy part of a parse.
+ *
+ * With virtual threads enabled, Tomcat runs every request on its own virtual thread, so
+ * connection count no longer bounds CPU work. Parsing is then handed to this pool (one thread
+ * per core by default) while the request's virtual thread only does I/O: reading and spooling
+ * the upload and writing the response. With platform request threads the hand-off is skipped
+ * and parses run on the calling thread as before.
+ */
+@Component
+public class CpuBoundExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(CpuBoundExecutor.class);
+
+    private final ExecutorService pool;
+
+    public CpuBoundExecutor(@Value("${parser.cpu.offload:${spring.threads.virtual.enabled:false}}") boolean offload,
+                            @Value("${parser.cpu.threads:0}") int threads) {
+        if (!offload) {
+            this.pool = null;
+            return;
+        }
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger(1);
+        this.pool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "parse-cpu-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.debug("Parsing offloaded to {} platform threads", poolSize);
+    }
+
+    /**
+     * Runs the task on the CPU pool and waits for it, or directly when offloading is off.
+     * The task's own exception is rethrown unchanged.
+     */
+    public <T> T run(Callable<T> task) throws Exception {
+        if (pool == null) return task.call();
+
+        Future<T> future = pool.submit(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) throw exception;
+            if (cause instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) pool.shutdownNow();
+    }
+}
@@ -1,41 +1,159 @@
 package com.exituity.documentparser.service;
 
+import com.exituity.documentparser.cache.ParseResultCache;
+import com.exituity.documentparser.metrics.ParseMetrics;
+import com.exituity.documentparser.model.ParseOptions;
 import com.exituity.documentparser.model.ParsedDocument;
 import com.exituity.documentparser.model.PdfParsedData;
+import com.exituity.documentparser.parser.DocumentSink;
 import com.exituity.documentparser.parser.Parser;
+import com.exituity.documentparser.parser.ParserFactory;
+import com.exituity.documentparser.parser.StreamingParser;
+import com.exituity.documentparser.upload.ContentSniffer;
+import com.exituity.documentparser.upload.SpooledFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.Map;
 
 @Service
 public class DocumentService {
 
-    private final List<Parser> parsers;
+    private static final Logger log = LoggerFactory.getLogger(DocumentService.class);
 
-    public DocumentService(List<Parser> parsers) {
-        this.parsers = parsers;
+    private final ParserFactory parserFactory;
+    private final ParseResultCache cache;
+    private final ContentSniffer sniffer;
+    private final ParseMetrics metrics;
+    private final CpuBoundExecutor cpuExecutor;
+    private final AdmissionControl admission;
+    private final Duration timeout;
+
+    public DocumentService(ParserFactory parserFactory, ParseResultCache cache, ContentSniffer sniffer,
+                           ParseMetrics metrics, CpuBoundExecutor cpuExecutor, AdmissionControl admission,
+                           @Value("${parser.timeout:2m}") Duration timeout) {
+        this.parserFactory = parserFactory;
+        this.cache = cache;
+        this.sniffer = sniffer;
+        this.metrics = metrics;
+        this.cpuExecutor = cpuExecutor;
+        this.admission = admission;
+        this.timeout = timeout;
     }
 
     public Object parseDocument(MultipartFile file) throws Exception {
+        return parseDocument(file, ParseOptions.defaults());
+    }
+
+    public Object parseDocument(MultipartFile file, ParseOptions options) throws Exception {
+        // spool once, so hashing and parsing read the same temp file instead of re-buffering the upload
+        if (!(file instanceof SpooledFile)) {
+            try (SpooledFile spooled = spool(file)) {
+                return parseDocument(spooled, options);
+            }
+        }
+
         // detect parser based on file type
-        Parser parser = parsers.stream()
-                .filter(p -> p.canParse(file.getContentType(), file.getOriginalFilename()))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException(" No parser found for file: " + file.getOriginalFilename()));
+        Parser parser = selectParser((SpooledFile) file);
+        String parserTag = ParseMetrics.parserTag(parser);
+        String typeTag = ParseMetrics.typeTag(parser, file.getContentType());
 
-        // parse it (returns Object)
-        Object result = parser.parse(file);
+        // serve repeated uploads from the result cache
+        String cacheKey = null;
+        if (cache.isEnabled()) {
+            cacheKey = cache.key(file, parser, options);
+            Object cached = cache.get(cacheKey, file);
+            if (cached != null) {
+                log.debug("Served {} from parse result cache", file.getOriginalFilename());
+                return cached;
+            }
+        }
+
+        // parse it (returns Object), once its admission class has room
+        Object result;
+        ParseOptions bounded;
+        try (AdmissionControl.Permit permit = admission.admit(parserTag, file.getSize(), options)) {
+            bounded = withDeadline(options).withAdmission(permit);
+            result = metrics.time(ParseMetrics.STAGE_PARSE, parserTag, typeTag,
+                    () -> cpuExecutor.run(() -> parser.parse(file, bounded)));
+        }
+        metrics.recordDocument(parserTag, typeTag, file.getSize(), result);
+        // a parse that stopped early returned a partial result, which must not be served again
+        if (cacheKey != null && result != null && !bounded.getCancellation().isCancelled()) {
+            cache.put(cacheKey, result);
+        }
 
         // handle each type (optional)
         if (result instanceof ParsedDocument parsedDoc) {
-            System.out.println(" Parsed as generic document");
             return parsedDoc;
         } else if (result instanceof PdfParsedData pdfDoc) {
-            System.out.println(" Parsed as PDF document");
             return pdfDoc;
         } else {
             throw new RuntimeException(" Unknown parser result type: " + result.getClass());
         }
     }
+
+    /**
+     * Parses the file incrementally into the sink. Parsers without a streaming mode
+     * produce a single "document" event holding the whole result.
+     */
+    public void streamDocument(MultipartFile file, ParseOptions options, DocumentSink sink) throws Exception {
+        if (!(file instanceof SpooledFile)) {
+            try (SpooledFile spooled = spool(file)) {
+                streamDocument(spooled, options, sink);
+                return;
+            }
+        }
+
+        Parser parser = selectParser((SpooledFile) file);
+        String parserTag = ParseMetrics.parserTag(parser);
+        String typeTag = ParseMetrics.typeTag(parser, file.getContentType());
+
+        try (AdmissionControl.Permit permit = admission.admit(parserTag, file.getSize(), options)) {
+            ParseOptions bounded = withDeadline(options).withAdmission(permit);
+            metrics.time(ParseMetrics.STAGE_PARSE, parserTag, typeTag, () -> cpuExecutor.run(() -> {
+                if (parser instanceof StreamingParser streamingParser) {
+                    streamingParser.stream(file, bounded, sink);
+                } else {
+                    sink.emit("document", Map.of("document", parser.parse(file, bounded)));
+                }
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * Starts the per-request deadline once the parse is admitted, unless the caller already
+     * supplied a token with one (jobs and batches have their own). The caller's token stays
+     * the parent, so cancelling it still stops the parse.
+     */
+    private ParseOptions withDeadline(ParseOptions options) {
+        if (options.getCancellation().hasDeadline() || timeout.isZero() || timeout.isNegative()) return options;
+        return options.withCancellation(options.getCancellation().withDeadline(timeout));
+    }
+
+    private SpooledFile spool(MultipartFile file) throws Exception {
+        return metrics.time(ParseMetrics.STAGE_SPOOL, ParseMetrics.NONE, ParseMetrics.NONE, () -> SpooledFile.spool(file));
+    }
+
+    /**
+     * Routes on the type sniffed from the content when there is one; clients often send
+     * application/octet-stream or a misleading file name.
+     */
+    private Parser selectParser(SpooledFile file) {
+        long start = System.nanoTime();
+        String detected = sniffer.detect(file);
+        if (detected != null && !detected.equalsIgnoreCase(file.getContentType())) {
+            log.debug("Detected {} for {} (declared {})", detected, file.getOriginalFilename(), file.getContentType());
+            file.setContentType(detected);
+        }
+        Parser parser = parserFactory.getParser(file.getContentType(), file.getOriginalFilename());
+        metrics.record(ParseMetrics.STAGE_DETECT, ParseMetrics.parserTag(parser),
+                ParseMetrics.typeTag(parser, file.getContentType()), System.nanoTime() - start, true);
+        return parser;
+    }
 }
@@ -0,0 +1,49 @@
+package com.exituity.documentparser.service;
+
+import com.exituity.documentparser.model.CancellationToken;
+import com.exituity.documentparser.parser.DocumentSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * NdjsonSink — writes each emitted event as one JSON line: {"type": ..., ...fields}.
+ *
+ * Row events are left to the response buffer; every other event is flushed immediately
+ * so clients see pages and slides as soon as they are extracted. A failed write (the client
+ * went away) cancels the parse feeding the sink.
+ */
+public class NdjsonSink implements DocumentSink {
+
+    private final ObjectMapper objectMapper;
+    private final OutputStream out;
+    private final CancellationToken cancellation;
+
+    public NdjsonSink(ObjectMapper objectMapper, OutputStream out, CancellationToken cancellation) {
+        this.objectMapper = objectMapper;
+        this.out = out;
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    public void emit(String type, Map<String, Object> fields) throws IOException {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.putAll(fields);
+
+        byte[] line = objectMapper.writeValueAsBytes(event);
+        try {
+            out.write(line);
+            out.write('\n');
+            if (!"row".equals(type)) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            cancellation.cancel("response write failed");
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.exituity.documentparser.upload;
+
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipFile;
+
+/**
+ * ContentSniffer — detects an upload's real type from its leading bytes.
+ *
+ * Only a small prefix of the spooled file is read. Zip and OLE2 containers are told apart by
+ * their directory entries (the zip central directory, the OLE2 property table), never by
+ * reading the whole file. Returns null when the content has no recognised signature, in which
+ * case the client's Content-Type and filename are used as before.
+ */
+@Component
+public class ContentSniffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentSniffer.class);
+
+    private static final int PREFIX_BYTES = 1024;
+
+    // BMP file header: "BM", file size, 4 reserved zero bytes, pixel data offset
+    private static final int BMP_HEADER_BYTES = 14;
+
+    private static final byte[] PDF = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ZIP = {0x50, 0x4B, 0x03, 0x04};
+    private static final byte[] OLE2 = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] PNG = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] TIFF_LE = {0x49, 0x49, 0x2A, 0x00};
+    private static final byte[] TIFF_BE = {0x4D, 0x4D, 0x00, 0x2A};
+    private static final byte[] BMP = {0x42, 0x4D};
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /**
+     * Returns the detected MIME type, or null if the content is not recognised.
+     */
+    public String detect(SpooledFile file) {
+        try {
+            byte[] head = readPrefix(file);
+
+            if (isPdf(head)) return "application/pdf";
+            if (startsWith(head, PNG)) return "image/png";
+            if (startsWith(head, JPEG)) return "image/jpeg";
+            if (startsWith(head, TIFF_LE) || startsWith(head, TIFF_BE)) return "image/tiff";
+            if (startsWith(head, ZIP)) return detectOoxml(file);
+            if (startsWith(head, OLE2)) return detectOle2(file);
+            if (isBmp(head, file.getSize())) return "image/bmp";
+        } catch (Exception e) {
+            log.warn("Content sniffing failed for {}: {}", file.getOriginalFilename(), e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * "%PDF-" at the very start, or after a BOM and whitespace only. Readers tolerate junk
+     * before the header, but a text file that merely mentions "%PDF-" is still text.
+     */
+    static boolean isPdf(byte[] head) {
+        int i = 0;
+        if (startsWith(head, UTF8_BOM)) i = UTF8_BOM.length;
+        while (i < head.length && isWhitespace(head[i])) i++;
+        return startsWith(head, i, PDF);
+    }
+
+    /**
+     * "BM" is also how plenty of text starts ("BMI,..."), so the rest of the file header must
+     * be consistent: a plausible file size, zero reserved bytes and a pixel offset past the header.
+     */
+    static boolean isBmp(byte[] head, long fileSize) {
+        if (head.length < BMP_HEADER_BYTES || !startsWith(head, BMP)) return false;
+
+        long declaredSize = uint32(head, 2);
+        if (declaredSize != 0 && (declaredSize < BMP_HEADER_BYTES || declaredSize > fileSize)) return false;
+        if (uint32(head, 6) != 0) return false;
+
+        long pixelOffset = uint32(head, 10);
+        return pixelOffset >= BMP_HEADER_BYTES && pixelOffset < fileSize;
+    }
+
+    private String detectOoxml(SpooledFile file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.getFile())) {
+            if (zip.getEntry("word/document.xml") != null)
+                return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+            if (zip.getEntry("xl/workbook.xml") != null)
+                return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+            if (zip.getEntry("ppt/presentation.xml") != null)
+                return "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+        }
+        return null; // a plain zip; leave it to the declared type
+    }
+
+    private String detectOle2(SpooledFile file) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(file.getFile(), true)) {
+            DirectoryNode root = fs.getRoot();
+            // only BIFF8 (Excel 97+) has a "Workbook" stream; Excel 5/95 "Book" files are left to the
+            // declared type or Tika, since HSSF cannot open them
+            if (root.hasEntry("Workbook")) return "application/vnd.ms-excel";
+            if (root.hasEntry("WordDocument")) return "application/msword";
+            if (root.hasEntry("PowerPoint Document")) return "application/vnd.ms-powerpoint";
+        }
+        return null;
+    }
+
+    private byte[] readPrefix(SpooledFile file) throws IOException {
+        try (InputStream is = Files.newInputStream(file.getPath())) {
+            return is.readNBytes(PREFIX_BYTES);
+        }
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return startsWith(data, 0, prefix);
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (data.length - offset < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '\f' || b == 0;
+    }
+
+    // little-endian unsigned 32-bit field
+    private static long uint32(byte[] data, int offset) {
+        return (data[offset] & 0xFFL)
+                | (data[offset + 1] & 0xFFL) << 8
+                | (data[offset + 2] & 0xFFL) << 16
+                | (data[offset + 3] & 0xFFL) << 24;
+    }
+}
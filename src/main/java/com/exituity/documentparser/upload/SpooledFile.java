@@ -0,0 +1,137 @@
+package com.exituity.documentparser.upload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SpooledFile — an upload copied once to a private temp file.
+ *
+ * Unlike the servlet container's MultipartFile it stays readable after the request completes,
+ * so it can be handed to background work. Parsers open it by path (or map it) instead of
+ * re-reading the upload stream. Closing it deletes the temp file.
+ */
+public class SpooledFile implements MultipartFile, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SpooledFile.class);
+
+    private final String name;
+    private final String originalFilename;
+    private String contentType;
+    private final Path path;
+    private final long size;
+
+    private SpooledFile(String name, String originalFilename, String contentType, Path path, long size) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.path = path;
+        this.size = size;
+    }
+
+    /**
+     * Copies the upload to a temp file.
+     */
+    public static SpooledFile spool(MultipartFile file) throws IOException {
+        return spool(file.getName(), file.getOriginalFilename(), file.getContentType(), file.getInputStream());
+    }
+
+    /**
+     * Copies a stream to a temp file; the stream is closed afterwards.
+     */
+    public static SpooledFile spool(String name, String originalFilename, String contentType, InputStream content)
+            throws IOException {
+        Path path = Files.createTempFile("upload-", ".bin");
+        try (InputStream is = content) {
+            long size = Files.copy(is, path, StandardCopyOption.REPLACE_EXISTING);
+            return new SpooledFile(name, originalFilename, contentType, path, size);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the client-declared content type, e.g. with the one sniffed from the content.
+     */
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public File getFile() {
+        return path.toFile();
+    }
+
+    /**
+     * Maps the spooled content read-only into memory, without copying it onto the heap.
+     * Only files under 2 GB can be mapped in one buffer.
+     */
+    public MappedByteBuffer map() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.exituity.documentparser.cache;
+
+import com.exituity.documentparser.model.Metadata;
+import com.exituity.documentparser.model.ParsedDocument;
+import com.exituity.documentparser.model.Table;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParseResultCacheTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void hitsCannotChangeTheCachedResult() throws Exception {
+        ParseResultCache cache = new ParseResultCache(true, DataSize.ofMegabytes(1), false, Path.of("unused"),
+                DataSize.ofMegabytes(1), Duration.ofDays(1), new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry());
+
+        ParsedDocument parsed = document();
+        cache.put("key", parsed);
+        // the parsing request keeps its own result
+        parsed.getIssues().add("changed after caching");
+
+        ParsedDocument first = (ParsedDocument) cache.get("key", upload("first.xlsx"));
+        first.getIssues().clear();
+        first.getTables().get(0).getRows().get(0).set(0, "changed");
+        first.getTables().get(0).getStructuredRows().clear();
+        ((Map<String, Object>) first.getText()).put("sheets", List.of());
+        first.getMetadata().setPageCount(99);
+
+        ParsedDocument second = (ParsedDocument) cache.get("key", upload("second.xlsx"));
+        assertEquals(document().getText(), second.getText());
+        assertEquals(document().getTables(), second.getTables());
+        assertEquals(List.of("column missing"), second.getIssues());
+        assertEquals(1, second.getMetadata().getPageCount());
+        assertEquals("second.xlsx", second.getMetadata().getFileName());
+    }
+
+    private static ParsedDocument document() {
+        List<List<String>> rows = new ArrayList<>(List.of(new ArrayList<>(List.of("1", "Acme"))));
+        List<Object> values = new ArrayList<>(List.of(new ArrayList<>(List.of(1L, LocalDate.of(2024, 3, 15)))));
+        Table table = new Table(null, new ArrayList<>(List.of("Id", "Customer")), rows, values, 0);
+
+        Map<String, Object> sheet = new LinkedHashMap<>();
+        sheet.put("sheetName", "Orders");
+        sheet.put("rows", rows);
+        Map<String, Object> text = new LinkedHashMap<>();
+        text.put("sheets", new ArrayList<>(List.of(sheet)));
+
+        Metadata metadata = new Metadata("orders.xlsx", "application/vnd.ms-excel", 10, 1, 0.97, "test", "now");
+        return new ParsedDocument(text, new ArrayList<>(List.of(table)), metadata, null,
+                new ArrayList<>(List.of("column missing")));
+    }
+
+    private static MockMultipartFile upload(String name) {
+        return new MockMultipartFile("file", name, "application/vnd.ms-excel", new byte[10]);
+    }
+}
@@ -0,0 +1,60 @@
+package com.exituity.documentparser.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CancellationTokenTest {
+
+    @Test
+    void noneIsOnlyStoppedByCancel() {
+        CancellationToken token = CancellationToken.none();
+        assertFalse(token.hasDeadline());
+        assertFalse(token.isCancelled());
+
+        token.cancel("client disconnected");
+        token.cancel("request ended");   // the first reason wins
+
+        assertTrue(token.isCancelled());
+        assertEquals("cancelled (client disconnected)", token.reason());
+    }
+
+    @Test
+    void deadlineExpires() throws InterruptedException {
+        CancellationToken token = CancellationToken.withTimeout(Duration.ofMillis(1));
+        Thread.sleep(5);
+
+        assertTrue(token.hasDeadline());
+        assertTrue(token.isCancelled());
+        assertEquals("deadline of 0s exceeded", token.reason());
+        assertFalse(CancellationToken.withTimeout(Duration.ofHours(1)).isCancelled());
+    }
+
+    @Test
+    void childStopsWithItsParent() {
+        CancellationToken request = CancellationToken.none();
+        CancellationToken parse = request.withDeadline(Duration.ofHours(1));
+        assertTrue(parse.hasDeadline());
+        assertFalse(parse.isCancelled());
+
+        request.cancel("client disconnected");
+
+        assertTrue(parse.isCancelled());
+        assertEquals("cancelled (client disconnected)", parse.reason());
+    }
+
+    @Test
+    void cancellingTheChildLeavesTheParentRunning() {
+        CancellationToken batch = CancellationToken.none();
+        CancellationToken item = batch.withDeadline(Duration.ofHours(1));
+
+        item.cancel("item stopped");
+
+        assertTrue(item.isCancelled());
+        assertFalse(batch.isCancelled());
+    }
+}
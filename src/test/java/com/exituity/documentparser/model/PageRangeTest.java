@@ -0,0 +1,52 @@
+package com.exituity.documentparser.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageRangeTest {
+
+    @Test
+    void blankSpecMeansAllPages() {
+        assertNull(PageRange.parse(null));
+        assertNull(PageRange.parse("  "));
+    }
+
+    @Test
+    void singlePagesAndRangesAreSelectedInOrder() {
+        PageRange range = PageRange.parse("5, 1-3");
+
+        assertEquals(List.of(1, 2, 3, 5), range.select(10));
+        assertEquals(4, range.maxPageCount());
+        assertEquals("5,1-3", range.toString());
+    }
+
+    @Test
+    void openEndedRangeRunsToLastPage() {
+        PageRange range = PageRange.parse("8-");
+
+        assertEquals(List.of(8, 9, 10), range.select(10));
+        assertTrue(range.includes(1_000));
+        assertFalse(range.includes(7));
+        assertEquals(Integer.MAX_VALUE, range.maxPageCount());
+    }
+
+    @Test
+    void pagesBeyondTheDocumentAreDropped() {
+        assertEquals(List.of(), PageRange.parse("20-30").select(10));
+        assertEquals(List.of(9, 10), PageRange.parse("9-12").select(10));
+    }
+
+    @Test
+    void malformedSpecsAreRejected() {
+        for (String spec : List.of("0", "3-1", "a", "1-b", "-4", "1,,2")) {
+            assertThrows(IllegalArgumentException.class, () -> PageRange.parse(spec), spec);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.exituity.documentparser.ocr;
+
+import com.exituity.documentparser.exception.ServiceUnavailableException;
+import com.exituity.documentparser.metrics.ParseMetrics;
+import com.exituity.documentparser.model.CancellationToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OcrWorkerPoolTest {
+
+    @Test
+    void busyEnginePoolFailsTheRequestInsteadOfBlankingThePage() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OcrEnginePool engines = new OcrEnginePool(1, Duration.ofMillis(50), false, registry);
+        OcrWorkerPool workers = new OcrWorkerPool(engines, new ParseMetrics(registry), 0, 2);
+
+        // e.g. an image upload holding the only engine
+        WarmTesseract held = engines.borrow();
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage());
+
+            assertThrows(ServiceUnavailableException.class,
+                    () -> workers.recognizePages(document, List.of(0), CancellationToken.none()));
+        } finally {
+            engines.release(held);
+            workers.shutdown();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.exituity.documentparser.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRowParserTest {
+
+    @Test
+    void plainRowsAreSplitAndTrimmed() throws IOException {
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "2", "3")),
+                parse("a, b ,c\n1,2,3\n"));
+    }
+
+    @Test
+    void quotedFieldsKeepDelimitersAndDoubledQuotes() throws IOException {
+        assertEquals(List.of(List.of("Smith, John", "said \"hi\"", "")),
+                parse("\"Smith, John\",\"said \"\"hi\"\"\",\"\"\n"));
+    }
+
+    @Test
+    void quotedFieldsMayContainLineBreaks() throws IOException {
+        assertEquals(List.of(List.of("id", "note"), List.of("1", "line one\r\nline two"), List.of("2", "x")),
+                parse("id,note\r\n1,\"line one\r\nline two\"\r\n2,x\r\n"));
+    }
+
+    @Test
+    void lastRowWithoutLineBreakAndBlankRowsAreHandled() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("1", "2")),
+                parse("a,b\n\n , \r\n1,2"));
+    }
+
+    @Test
+    void rowsSplitAcrossChunksAreReassembled() throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        CsvRowParser parser = new CsvRowParser(',', 1_000, rows::add);
+        for (String chunk : List.of("na", "me,\"quo", "\"\"ted\"", "\r", "\nx,y")) {
+            parser.feed(CharBuffer.wrap(chunk));
+        }
+        parser.finish();
+
+        assertEquals(List.of(List.of("name", "quo\"ted"), List.of("x", "y")), rows);
+    }
+
+    @Test
+    void otherDelimiters() throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        CsvRowParser parser = new CsvRowParser(';', 1_000, rows::add);
+        parser.feed(CharBuffer.wrap("a;\"b;c\"\n"));
+        parser.finish();
+
+        assertEquals(List.of(List.of("a", "b;c")), rows);
+    }
+
+    @Test
+    void overlongRowIsRejected() {
+        // An unbalanced quote would otherwise swallow the rest of the file into one field
+        CsvRowParser parser = new CsvRowParser(',', 10, cells -> { });
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.feed(CharBuffer.wrap("\"unterminated,quote,runs,on\n1,2\n")));
+    }
+
+    @Test
+    void rowLimitCountsEachRowSeparately() throws IOException {
+        assertEquals(3, parse("12345678,9\n12345678,9\n12345678,9\n", 10).size());
+    }
+
+    private static List<List<String>> parse(String csv) throws IOException {
+        return parse(csv, 1_000);
+    }
+
+    private static List<List<String>> parse(String csv, int maxRowChars) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        CsvRowParser parser = new CsvRowParser(',', maxRowChars, rows::add);
+        parser.feed(CharBuffer.wrap(csv));
+        parser.finish();
+        return rows;
+    }
+}
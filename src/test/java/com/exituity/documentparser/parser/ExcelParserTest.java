@@ -0,0 +1,136 @@
+package com.exituity.documentparser.parser;
+
+import com.exituity.documentparser.model.ParseOptions;
+import com.exituity.documentparser.model.ParsedDocument;
+import com.exituity.documentparser.model.Table;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExcelParserTest {
+
+    private static final String XLSX_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    // threshold 0 sends every .xlsx through the SAX reader; the maximum keeps it on the workbook (DOM) path
+    private final ExcelParser streaming = new ExcelParser(DataSize.ofBytes(0));
+    private final ExcelParser dom = new ExcelParser(DataSize.ofBytes(Long.MAX_VALUE));
+
+    @Test
+    void streamingAndWorkbookReadersProduceTheSameOutput() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "orders.xlsx", XLSX_TYPE, workbook());
+
+        ParsedDocument streamed = streaming.parse(file, ParseOptions.defaults());
+        ParsedDocument loaded = dom.parse(file, ParseOptions.defaults());
+
+        assertEquals("Apache POI (ExcelParser, streaming)", streamed.getMetadata().getExtractedBy());
+        assertEquals("Apache POI (ExcelParser)", loaded.getMetadata().getExtractedBy());
+
+        assertEquals(loaded.getText(), streamed.getText());
+        assertEquals(loaded.getTables().size(), streamed.getTables().size());
+        for (int i = 0; i < loaded.getTables().size(); i++) {
+            Table expected = loaded.getTables().get(i);
+            Table actual = streamed.getTables().get(i);
+            assertEquals(expected.getHeaders(), actual.getHeaders());
+            assertEquals(expected.getRows(), actual.getRows());
+            assertEquals(expected.getStructuredRows(), actual.getStructuredRows());
+        }
+    }
+
+    @Test
+    void workbookCellsKeepTheirTypes() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "orders.xlsx", XLSX_TYPE, workbook());
+
+        for (ExcelParser parser : List.of(streaming, dom)) {
+            List<Table> tables = parser.parse(file, ParseOptions.defaults()).getTables();
+
+            assertEquals(2, tables.size());
+            assertEquals(List.of("Id", "Customer", "Amount", "Ordered", "Total", "Note"), tables.get(0).getHeaders());
+            assertEquals(List.of(
+                    List.of(1L, "Acme", 12.5, LocalDate.of(2024, 3, 15), 25L, "inline note"),
+                    Arrays.asList(2L, null, 4L, LocalDateTime.of(2024, 3, 16, 9, 30), 8L, "rush")
+            ), tables.get(0).getStructuredRows());
+            // text rows show numbers as stored in the file, so only the gap is checked here
+            List<String> secondRow = tables.get(0).getRows().get(1);
+            assertEquals("", secondRow.get(1));
+            assertEquals("rush", secondRow.get(5));
+
+            assertEquals(List.of("Region", "Open"), tables.get(1).getHeaders());
+            assertEquals(List.of(List.of("North", true)), tables.get(1).getStructuredRows());
+        }
+    }
+
+    /**
+     * Two sheets covering shared and inline strings, whole and fractional numbers, date and
+     * date-time cells, cached formula results, a blank cell inside a row and a blank row.
+     */
+    private static byte[] workbook() throws Exception {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            CellStyle date = workbook.createCellStyle();
+            date.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            CellStyle dateTime = workbook.createCellStyle();
+            dateTime.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+
+            Sheet orders = workbook.createSheet("Orders");
+            Row header = orders.createRow(0);
+            String[] names = {"Id", "Customer", "Amount", "Ordered", "Total", "Note"};
+            for (int i = 0; i < names.length; i++) {
+                header.createCell(i).setCellValue(names[i]);
+            }
+
+            Row first = orders.createRow(1);
+            first.createCell(0).setCellValue(1);
+            first.createCell(1).setCellValue("Acme");
+            first.createCell(2).setCellValue(12.5);
+            first.createCell(3).setCellValue(LocalDate.of(2024, 3, 15));
+            first.getCell(3).setCellStyle(date);
+            first.createCell(4).setCellFormula("C2*2");
+            inlineString((XSSFCell) first.createCell(5), "inline note");
+
+            // row 3 is left out entirely; row 4 has no customer
+            Row second = orders.createRow(3);
+            second.createCell(0).setCellValue(2);
+            second.createCell(2).setCellValue(4);
+            second.createCell(3).setCellValue(LocalDateTime.of(2024, 3, 16, 9, 30));
+            second.getCell(3).setCellStyle(dateTime);
+            second.createCell(4).setCellFormula("C4*2");
+            second.createCell(5).setCellValue("rush");
+
+            Sheet regions = workbook.createSheet("Regions");
+            Row regionHeader = regions.createRow(0);
+            regionHeader.createCell(0).setCellValue("Region");
+            regionHeader.createCell(1).setCellValue("Open");
+            Row region = regions.createRow(1);
+            region.createCell(0).setCellValue("North");
+            region.createCell(1).setCellValue(true);
+
+            // store the formula results, which both readers report
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * POI writes strings to the shared string table; other producers write them inline.
+     */
+    private static void inlineString(XSSFCell cell, String text) {
+        cell.getCTCell().setT(STCellType.INLINE_STR);
+        cell.getCTCell().addNewIs().setT(text);
+    }
+}
@@ -0,0 +1,62 @@
+package com.exituity.documentparser.parser;
+
+import com.exituity.documentparser.model.CancellationToken;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageTextStripperTest {
+
+    @Test
+    void requestedPagesAreHandedOverInOrder() throws IOException {
+        try (PDDocument document = document(6, 4)) {
+            List<String> pages = new ArrayList<>();
+
+            boolean complete = new PageTextStripper(List.of(2, 3, 4, 6), CancellationToken.none(),
+                    (page, text) -> pages.add(page + ":" + text)).strip(document);
+
+            assertTrue(complete);
+            // Page 4 has no content stream and is reported as empty
+            assertEquals(List.of("2:Page 2", "3:Page 3", "4:", "6:Page 6"), pages);
+        }
+    }
+
+    @Test
+    void noPagesRequested() throws IOException {
+        try (PDDocument document = document(2, 0)) {
+            List<String> pages = new ArrayList<>();
+            assertTrue(new PageTextStripper(List.of(), CancellationToken.none(),
+                    (page, text) -> pages.add(text)).strip(document));
+            assertEquals(List.of(), pages);
+        }
+    }
+
+    /**
+     * A document whose pages read "Page n", except for one page left without contents.
+     */
+    private static PDDocument document(int pageCount, int emptyPage) throws IOException {
+        PDDocument document = new PDDocument();
+        for (int i = 1; i <= pageCount; i++) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            if (i == emptyPage) continue;
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 12);
+                content.newLineAtOffset(50, 700);
+                content.showText("Page " + i);
+                content.endText();
+            }
+        }
+        return document;
+    }
+}
@@ -0,0 +1,70 @@
+package com.exituity.documentparser.parser;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ParserFactoryTest {
+
+    private final Parser generic = new StubParser(Parser.PRIORITY_GENERIC, false);
+    private final Parser specialised = new StubParser(Parser.PRIORITY_SPECIALISED, false);
+    private final Parser fallback = new StubParser(Parser.PRIORITY_FALLBACK, true);
+
+    @Test
+    void specialisedParserWinsSharedMimeType() {
+        ParserFactory factory = new ParserFactory(List.of(generic, specialised, fallback));
+        assertSame(specialised, factory.getParser("application/pdf", "report.bin"));
+        assertSame(specialised, factory.getParser("Application/PDF; charset=binary", null));
+    }
+
+    @Test
+    void registrationOrderDoesNotDecide() {
+        ParserFactory factory = new ParserFactory(List.of(specialised, fallback, generic));
+        assertSame(specialised, factory.getParser("application/pdf", null));
+
+        factory = new ParserFactory(List.of(fallback, generic, specialised));
+        assertSame(specialised, factory.getParser("application/pdf", null));
+    }
+
+    @Test
+    void specialisedParserWinsSharedExtension() {
+        ParserFactory factory = new ParserFactory(List.of(generic, specialised, fallback));
+        assertSame(specialised, factory.getParser("application/octet-stream", "Report.PDF"));
+    }
+
+    @Test
+    void unknownTypeGoesToFallback() {
+        ParserFactory factory = new ParserFactory(List.of(generic, specialised, fallback));
+        assertSame(fallback, factory.getParser("application/x-unknown", "data.xyz"));
+    }
+
+    /**
+     * Claims application/pdf and .pdf, like PdfParser and a generic parser both could.
+     */
+    private record StubParser(int priority, boolean isFallback) implements Parser {
+
+        @Override
+        public boolean canParse(String contentType, String filename) {
+            return isFallback;
+        }
+
+        @Override
+        public Set<String> supportedTypes() {
+            return Set.of("application/pdf");
+        }
+
+        @Override
+        public Set<String> supportedExtensions() {
+            return Set.of("pdf");
+        }
+
+        @Override
+        public Object parse(MultipartFile file) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.exituity.documentparser.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfParserTest {
+
+    @Test
+    void ordinaryTextIsUsable() {
+        assertTrue(PdfParser.hasUsableTextLayer("Invoice 2024-001, total: $1,250.00"));
+    }
+
+    @Test
+    void emptyOrTooShortTextNeedsOcr() {
+        assertFalse(PdfParser.hasUsableTextLayer(null));
+        assertFalse(PdfParser.hasUsableTextLayer(" \n\t "));
+        assertFalse(PdfParser.hasUsableTextLayer("a b"));      // 2 visible chars, below the minimum of 3
+        assertTrue(PdfParser.hasUsableTextLayer("abc"));
+    }
+
+    @Test
+    void garbageRatioAboveTwentyPercentNeedsOcr() {
+        // 8 letters + 2 replacement chars: exactly 20% garbage is still accepted
+        assertTrue(PdfParser.hasUsableTextLayer("abcdefgh\uFFFD\uFFFD"));
+        // 7 letters + 3 garbage chars (replacement, control, private use) = 30%
+        assertFalse(PdfParser.hasUsableTextLayer("abcdefg\uFFFD\u0001\uE000"));
+    }
+
+    @Test
+    void mostlyPunctuationNeedsOcr() {
+        // Half letters and digits is the minimum
+        assertTrue(PdfParser.hasUsableTextLayer("ab12.,;:"));
+        assertFalse(PdfParser.hasUsableTextLayer("ab1.,;:!"));
+    }
+}
@@ -0,0 +1,160 @@
+package com.exituity.documentparser.parser;
+
+import com.exituity.documentparser.model.ParseOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SheetWindowTest {
+
+    private static final List<String> HEADER = List.of("Id", " Name ", "City", "Total");
+
+    @Test
+    void columnsAreSelectedByHeaderNameOrNumberInRequestedOrder() throws Exception {
+        ParseOptions options = new ParseOptions();
+        options.setColumns(List.of("total", "NAME", "1"));
+        Recorder rows = new Recorder();
+        SheetWindow window = new SheetWindow(options, rows);
+
+        feed(window, 2);
+
+        assertEquals(List.of(
+                List.of("Total", " Name ", "Id"),
+                List.of("t1", "n1", "1"),
+                List.of("t2", "n2", "2")), rows.rows);
+        assertTrue(window.getIssues().isEmpty());
+    }
+
+    @Test
+    void unwantedColumnsAreNotRequestedOnceHeaderIsKnown() throws Exception {
+        ParseOptions options = new ParseOptions();
+        options.setColumns(List.of("City"));
+        SheetWindow window = new SheetWindow(options, new Recorder());
+
+        window.startSheet("Data");
+        assertTrue(window.wantsColumn(0)); // header row: every column is read
+        window.row(HEADER, null);
+
+        assertFalse(window.wantsColumn(0));
+        assertTrue(window.wantsColumn(2));
+    }
+
+    @Test
+    void unknownColumnIsReportedAndSkipped() throws Exception {
+        ParseOptions options = new ParseOptions();
+        options.setColumns(List.of("City", "Country", "9"));
+        Recorder rows = new Recorder();
+        SheetWindow window = new SheetWindow(options, rows);
+
+        feed(window, 1);
+
+        // "9" is past the header but still a valid column number, so it projects as blank
+        assertEquals(List.of("City", ""), rows.rows.get(0));
+        assertEquals(List.of("c1", ""), rows.rows.get(1));
+        assertEquals(List.of("Column 'Country' not found in sheet 'Data'"), window.getIssues());
+    }
+
+    @Test
+    void offsetAndLimitWindowTheDataRows() throws Exception {
+        ParseOptions options = new ParseOptions();
+        options.setRowOffset(2);
+        options.setRowLimit(3);
+        Recorder rows = new Recorder();
+        SheetWindow window = new SheetWindow(options, rows);
+
+        feed(window, 10);
+
+        assertEquals(4, rows.rows.size()); // header + rows 3..5
+        assertEquals(HEADER, rows.rows.get(0));
+        assertEquals(List.of("3", "4", "5"), rows.rows.subList(1, 4).stream().map(r -> r.get(0)).toList());
+    }
+
+    @Test
+    void headerOnlyStopsAfterTheHeader() throws Exception {
+        ParseOptions options = new ParseOptions();
+        options.setHeaderOnly(true);
+        Recorder rows = new Recorder();
+        SheetWindow window = new SheetWindow(options, rows);
+
+        feed(window, 5);
+
+        assertEquals(List.of(HEADER), rows.rows);
+    }
+
+    @Test
+    void typedValuesAreProjectedWithTheCells() throws Exception {
+        ParseOptions options = new ParseOptions();
+        options.setColumns(List.of("Total", "Missing"));
+        Recorder rows = new Recorder();
+        SheetWindow window = new SheetWindow(options, rows);
+
+        window.startSheet("Data");
+        window.row(HEADER, null);
+        window.row(List.of("1", "Ann", "Oslo", "12.5"), List.of(1L, "Ann", "Oslo", 12.5));
+
+        assertEquals(List.of(12.5), rows.values.get(1));
+    }
+
+    @Test
+    void sheetsAreSelectedByNameOrPositionAndUnknownOnesReported() {
+        ParseOptions options = new ParseOptions();
+        options.setSheets(List.of("summary", "3", "Archive"));
+        SheetWindow window = new SheetWindow(options, new Recorder());
+
+        assertFalse(window.wantsSheet("Data", 1));
+        assertTrue(window.wantsSheet("Summary", 2));
+        assertTrue(window.wantsSheet("Notes", 3));
+
+        assertEquals(List.of("Sheet 'Archive' not found"), window.getIssues());
+    }
+
+    @Test
+    void noSelectionPassesEverythingThrough() throws Exception {
+        Recorder rows = new Recorder();
+        SheetWindow window = new SheetWindow(ParseOptions.defaults(), rows);
+
+        assertTrue(window.wantsSheet("Anything", 7));
+        feed(window, 3);
+
+        assertEquals(4, rows.rows.size());
+        assertEquals(HEADER, rows.rows.get(0));
+        assertTrue(window.getIssues().isEmpty());
+    }
+
+    /**
+     * Feeds a "Data" sheet with the header and the given number of data rows, the way the
+     * readers do: stopping as soon as the window reports the sheet done.
+     */
+    private static void feed(SheetWindow window, int dataRows) throws Exception {
+        window.startSheet("Data");
+        window.row(HEADER, null);
+        for (int i = 1; i <= dataRows && !window.sheetDone(); i++) {
+            window.row(List.of(String.valueOf(i), "n" + i, "c" + i, "t" + i), null);
+        }
+        window.endSheet("Data");
+    }
+
+    private static final class Recorder implements XlsxStreamingReader.SheetRowHandler {
+        final List<List<String>> rows = new ArrayList<>();
+        final List<List<Object>> values = new ArrayList<>();
+
+        @Override
+        public void startSheet(String sheetName) {
+        }
+
+        @Override
+        public void row(List<String> cells, List<Object> typed) {
+            rows.add(cells);
+            values.add(typed);
+        }
+
+        @Override
+        public void endSheet(String sheetName) {
+        }
+    }
+}
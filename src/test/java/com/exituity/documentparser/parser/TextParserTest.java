@@ -0,0 +1,95 @@
+package com.exituity.documentparser.parser;
+
+import com.exituity.documentparser.model.ParsedDocument;
+import com.exituity.documentparser.model.Table;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextParserTest {
+
+    private final TextParser parser = new TextParser(DataSize.ofKilobytes(64), 10_000_000, true, 100_000, 1_000_000);
+
+    @Test
+    void csvUploadCarriesATable() throws Exception {
+        ParsedDocument parsed = parser.parse(file("people.csv", "text/csv",
+                "name,city\n\"Doe, Jane\",\"New\nYork\"\n".getBytes(StandardCharsets.UTF_8)));
+
+        Table table = parsed.getTables().get(0);
+        assertEquals(List.of("name", "city"), table.getHeaders());
+        assertEquals(List.of(List.of("Doe, Jane", "New\nYork")), table.getRows());
+        assertNull(parsed.getIssues());
+    }
+
+    @Test
+    void csvTableStopsAtTheRowCap() throws Exception {
+        StringBuilder csv = new StringBuilder("id,value\n");
+        for (int i = 1; i <= 100_005; i++) {
+            csv.append(i).append(",v").append(i).append('\n');
+        }
+
+        ParsedDocument parsed = parser.parse(file("big.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        Table table = parsed.getTables().get(0);
+        assertEquals(100_000, table.getRows().size());
+        assertEquals(List.of("100000", "v100000"), table.getRows().get(99_999));
+        assertEquals(List.of("CSV table limited to 100000 of 100005 rows"), parsed.getIssues());
+        assertTrue(parsed.getText().toString().endsWith("100005,v100005\n")); // the text itself is not capped by rows
+    }
+
+    @Test
+    void utf8BomIsDetectedAndStripped() throws Exception {
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        ParsedDocument parsed = parser.parse(file("bom.csv", "text/csv", concat(bom, "café,x\n".getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals("café,x\n", parsed.getText());
+        assertEquals(List.of("café", "x"), parsed.getTables().get(0).getHeaders());
+        assertTrue(parsed.getMetadata().getExtractedBy().contains("UTF-8"));
+    }
+
+    @Test
+    void utf16BomWinsOverDeclaredCharset() throws Exception {
+        byte[] bom = {(byte) 0xFF, (byte) 0xFE};
+        byte[] body = "hello".getBytes(StandardCharsets.UTF_16LE);
+        ParsedDocument parsed = parser.parse(file("le.txt", "text/plain; charset=ISO-8859-1", concat(bom, body)));
+
+        assertEquals("hello", parsed.getText());
+        assertTrue(parsed.getMetadata().getExtractedBy().contains("UTF-16LE"));
+    }
+
+    @Test
+    void declaredCharsetIsUsedWithoutBom() throws Exception {
+        byte[] latin1 = "naïve résumé".getBytes(StandardCharsets.ISO_8859_1);
+        ParsedDocument parsed = parser.parse(file("cv.txt", "text/plain; charset=ISO-8859-1", latin1));
+
+        assertEquals("naïve résumé", parsed.getText());
+    }
+
+    @Test
+    void undeclaredNonUtf8TextIsDetected() throws Exception {
+        String text = "Les élèves ont reçu leurs résultats après la réunion du comité. "
+                .repeat(20);
+        ParsedDocument parsed = parser.parse(file("notes.txt", "text/plain", text.getBytes(StandardCharsets.ISO_8859_1)));
+
+        assertEquals(text, parsed.getText());
+    }
+
+    private static MockMultipartFile file(String name, String contentType, byte[] content) {
+        return new MockMultipartFile("file", name, contentType, content);
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(a);
+        out.writeBytes(b);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+package com.exituity.documentparser.service;
+
+import com.exituity.documentparser.exception.ServiceUnavailableException;
+import com.exituity.documentparser.model.ParseOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionControlTest {
+
+    // 1 unit per MB or per 10 pages; budgets: ocr 4, pdf 16, excel 8, default 64
+    private final AdmissionControl admission = new AdmissionControl(true, Duration.ofMillis(50), 10,
+            DataSize.ofMegabytes(1), 10, 4, 16, 8, 64, new SimpleMeterRegistry());
+
+    @Test
+    void pdfOcrIsChargedToTheOcrBudget() throws Exception {
+        try (AdmissionControl.Permit pdf = admission.admit("pdf", 1, ParseOptions.defaults());
+             AdmissionControl.Permit ocr = pdf.admitOcr(3)) {
+            assertEquals(3, ocr.cost());
+            // only one ocr unit is left, so a 2-unit image has to wait
+            assertThrows(ServiceUnavailableException.class,
+                    () -> admission.admit("image", DataSize.ofMegabytes(2).toBytes(), ParseOptions.defaults()));
+        }
+        admission.admit("image", DataSize.ofMegabytes(4).toBytes(), ParseOptions.defaults()).close();
+    }
+
+    @Test
+    void ocrChargeIsCappedAtTheBudget() throws Exception {
+        try (AdmissionControl.Permit ocr = admission.admitOcr(500)) {
+            assertEquals(4, ocr.cost());
+        }
+    }
+
+    @Test
+    void realPageCountGivesBackExcessUnits() throws Exception {
+        try (AdmissionControl.Permit pdf = admission.admit("pdf", DataSize.ofMegabytes(16).toBytes(), ParseOptions.defaults())) {
+            assertEquals(16, pdf.cost());
+
+            pdf.capPages(12);   // 12 pages = 2 units
+            assertEquals(2, pdf.cost());
+            admission.admit("pdf", DataSize.ofMegabytes(14).toBytes(), ParseOptions.defaults()).close();
+
+            pdf.capPages(500);   // never raises the cost
+            assertEquals(2, pdf.cost());
+        }
+    }
+
+    @Test
+    void disabledAdmissionChargesNothing() throws Exception {
+        AdmissionControl disabled = new AdmissionControl(false, Duration.ofMillis(50), 10,
+                DataSize.ofMegabytes(1), 10, 4, 16, 8, 64, new SimpleMeterRegistry());
+        try (AdmissionControl.Permit pdf = disabled.admit("pdf", 1, ParseOptions.defaults());
+             AdmissionControl.Permit ocr = pdf.admitOcr(3)) {
+            assertEquals(0, ocr.cost());
+        }
+    }
+}
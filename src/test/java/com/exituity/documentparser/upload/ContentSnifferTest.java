@@ -0,0 +1,75 @@
+package com.exituity.documentparser.upload;
+
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ContentSnifferTest {
+
+    private final ContentSniffer sniffer = new ContentSniffer();
+
+    @Test
+    void csvStartingWithBmIsNotABitmap() throws IOException {
+        String csv = "BMI,Height,Weight\n22.5,180,73\n24.1,175,74\n";
+        assertNull(detect("people.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void bitmapHeaderIsRecognised() throws IOException {
+        byte[] bmp = new byte[70];
+        bmp[0] = 'B';
+        bmp[1] = 'M';
+        bmp[2] = 70;    // file size
+        bmp[10] = 54;   // pixel data offset
+        assertEquals("image/bmp", detect("scan.bin", "application/octet-stream", bmp));
+    }
+
+    @Test
+    void textMentioningPdfHeaderStaysText() throws IOException {
+        String text = "Checking uploads: a PDF starts with %PDF-1.7 followed by objects.\n";
+        assertNull(detect("notes.txt", "text/plain", text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void pdfHeaderAfterLeadingWhitespaceIsRecognised() throws IOException {
+        byte[] pdf = "\r\n  %PDF-1.4\n1 0 obj\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals("application/pdf", detect("report", "application/octet-stream", pdf));
+    }
+
+    @Test
+    void unknownContentIsLeftToTheDeclaredType() throws IOException {
+        assertNull(detect("data.json", "application/json", "{\"a\": 1}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void ole2WorkbookStreamIsExcel() throws IOException {
+        assertEquals("application/vnd.ms-excel", detect("sheet.bin", "application/octet-stream", ole2("Workbook")));
+    }
+
+    @Test
+    void excel95BookStreamIsLeftToTheDeclaredType() throws IOException {
+        assertNull(detect("old.xls", "application/vnd.ms-excel", ole2("Book")));
+    }
+
+    private static byte[] ole2(String streamName) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem()) {
+            fs.createDocument(new ByteArrayInputStream(new byte[64]), streamName);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            fs.writeFilesystem(out);
+            return out.toByteArray();
+        }
+    }
+
+    private String detect(String filename, String contentType, byte[] content) throws IOException {
+        try (SpooledFile file = SpooledFile.spool("file", filename, contentType, new ByteArrayInputStream(content))) {
+            return sniffer.detect(file);
+        }
+    }
+}